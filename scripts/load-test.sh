@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+# Compare throughput and p99 latency with virtual threads off and on.
+# Starts the packaged jar twice against the same SQLite file and drives both runs with
+# scripts/LoadTest.java. Requires a JDK 21+ on PATH and a prior `mvn package`.
+#
+# Expected result: no errors in either run (the bulkheads queue callers rather than fail them at
+# this load), and the virtual-thread run at least matching the platform run's throughput. The
+# reads are mostly served from memory, so at CONCURRENCY up to Tomcat's 200 platform threads the
+# two runs should be close; above that, platform requests queue for a thread and their p99 grows
+# while virtual threads keep up. The script exits non-zero if either run has errors or if the
+# virtual run's throughput falls below MIN_RATIO times the platform run's.
+#
+# Tunables (environment): CONCURRENCY (default 200), DURATION seconds (default 30),
+# PORT (default 18700), SQLITE_PATH (default ./loadtest.db),
+# SEED_POSTS synthetic posts to load before the first run (default 10000),
+# MIN_RATIO lowest accepted virtual/platform throughput ratio (default 0.9)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR=target/website-backend.jar
+CONCURRENCY=${CONCURRENCY:-200}
+MIN_RATIO=${MIN_RATIO:-0.9}
+DURATION=${DURATION:-30}
+PORT=${PORT:-18700}
+export SQLITE_PATH=${SQLITE_PATH:-$PWD/loadtest.db}
+export SEED_POSTS=${SEED_POSTS:-10000}
+BASE=http://localhost:$PORT/api/blogs
+
+[ -f "$JAR" ] || { echo "Missing $JAR, run 'mvn package' first" >&2; exit 1; }
+
+run() {
+  local label=$1 virtual=$2
+  VIRTUAL_THREADS_ENABLED=$virtual java -jar "$JAR" \
+    --server.ssl.enabled=false --server.port="$PORT" \
+    --logging.level.org.springframework.web=WARN > "target/loadtest-$label.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+  # The HTTP port opens before seeding finishes, so wait until all seeded posts are counted
+  for _ in $(seq 1 600); do
+    local stats total
+    if stats=$(curl -sf "$BASE/stats"); then
+      total=$(sed -n 's/.*"blogsByStatus":{\([^}]*\)}.*/\1/p' <<< "$stats" | tr -cs '0-9' '\n' | awk '{s+=$1} END {print s+0}')
+      if [ "$total" -ge "$SEED_POSTS" ]; then
+        break
+      fi
+    fi
+    sleep 1
+  done
+
+  # Short warm-up so JIT and caches settle before measuring
+  java scripts/LoadTest.java warmup "$CONCURRENCY" 5 "$BASE" "$BASE/page?page=0&size=10" > /dev/null
+  java scripts/LoadTest.java "$label" "$CONCURRENCY" "$DURATION" \
+    "$BASE" "$BASE/page?page=0&size=10" "$BASE/search?q=spring" "$BASE/stats" "$BASE/popular" \
+    | tee "target/loadtest-$label.result"
+
+  kill "$APP_PID"
+  wait "$APP_PID" 2>/dev/null || true
+  trap - EXIT
+}
+
+# Value of a key=value field in a LoadTest result line
+field() {
+  sed -n "s/.* $2=\([0-9.]*\).*/\1/p" "target/loadtest-$1.result"
+}
+
+run platform false
+run virtual true
+
+failed=0
+for label in platform virtual; do
+  if [ "$(field "$label" errors)" != "0" ]; then
+    echo "FAIL: $label run had $(field "$label" errors) errors, see target/loadtest-$label.log" >&2
+    failed=1
+  fi
+done
+ratio=$(awk -v v="$(field virtual throughput)" -v p="$(field platform throughput)" 'BEGIN {printf "%.2f", v / p}')
+p99=$(awk -v v="$(field virtual p99)" -v p="$(field platform p99)" 'BEGIN {printf "%.2f", v / p}')
+echo "virtual/platform: throughput x$ratio, p99 x$p99"
+if awk -v r="$ratio" -v m="$MIN_RATIO" 'BEGIN {exit !(r < m)}'; then
+  echo "FAIL: virtual throughput below $MIN_RATIO of platform" >&2
+  failed=1
+fi
+exit $failed
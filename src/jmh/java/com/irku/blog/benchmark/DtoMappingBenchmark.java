@@ -0,0 +1,47 @@
+package com.irku.blog.benchmark;
+
+import com.irku.blog.dto.BlogDto;
+import com.irku.blog.dto.BlogSummaryDto;
+import com.irku.blog.entity.Blog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoMappingBenchmark {
+
+    @Param({"20", "500"})
+    public int size;
+
+    private List<Blog> blogs;
+
+    @Setup
+    public void setUp() {
+        blogs = Fixtures.blogs(size, 4_000);
+    }
+
+    @Benchmark
+    public void toBlogDto(Blackhole blackhole) {
+        for (Blog blog : blogs) {
+            blackhole.consume(new BlogDto(blog));
+        }
+    }
+
+    @Benchmark
+    public void toSummaryDto(Blackhole blackhole) {
+        for (Blog blog : blogs) {
+            blackhole.consume(new BlogSummaryDto(blog));
+        }
+    }
+
+    @Benchmark
+    public List<BlogSummaryDto> toSummaryList() {
+        return blogs.stream().map(BlogSummaryDto::new).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.irku.blog.benchmark;
+
+import com.irku.blog.entity.Blog;
+import com.irku.blog.entity.BlogStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory test data shared by the benchmarks.
+ */
+final class Fixtures {
+
+    private static final String[] WORDS = {
+            "spring", "boot", "java", "architecture", "cloud", "native", "performance", "sqlite",
+            "virtual", "threads", "design", "patterns", "microservices", "security", "testing", "kotlin"
+    };
+
+    private Fixtures() {
+    }
+
+    // Titles of typical length, including punctuation and mixed case
+    static List<String> titles(int count) {
+        Random random = new Random(42);
+        List<String> titles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder title = new StringBuilder();
+            int words = 4 + random.nextInt(8);
+            for (int w = 0; w < words; w++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                title.append(w == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+                title.append(random.nextInt(6) == 0 ? ": " : " ");
+            }
+            titles.add(title.append("#").append(i).toString());
+        }
+        return titles;
+    }
+
+    // Titles with accented Latin, ligatures and Cyrillic words mixed into the ASCII ones
+    static List<String> unicodeTitles(int count) {
+        String[] extra = {"Café", "naïve", "Straße", "Ærø", "Łódź", "über", "программирование", "Київ"};
+        Random random = new Random(43);
+        List<String> titles = titles(count);
+        for (int i = 0; i < count; i++) {
+            titles.set(i, extra[random.nextInt(extra.length)] + " " + titles.get(i));
+        }
+        return titles;
+    }
+
+    // Fully populated blogs with content of roughly contentChars characters
+    static List<Blog> blogs(int count, int contentChars) {
+        Random random = new Random(7);
+        List<String> titles = titles(count);
+        List<Blog> blogs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Blog blog = new Blog(titles.get(i), text(random, contentChars), text(random, 160));
+            blog.setId((long) i + 1);
+            blog.setAuthor("Author " + (i % 5));
+            blog.setStatus(BlogStatus.PUBLISHED);
+            blog.setViewCount((long) random.nextInt(10_000));
+            blog.setIsFeatured(i % 10 == 0);
+            blog.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusHours(i));
+            blog.setUpdatedAt(blog.getCreatedAt());
+            blog.setPublishedAt(blog.getCreatedAt());
+            blogs.add(blog);
+        }
+        return blogs;
+    }
+
+    private static String text(Random random, int chars) {
+        StringBuilder text = new StringBuilder(chars + 16);
+        while (text.length() < chars) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
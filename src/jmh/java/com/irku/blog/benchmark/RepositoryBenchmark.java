@@ -0,0 +1,169 @@
+package com.irku.blog.benchmark;
+
+import com.irku.blog.BlogApplication;
+import com.irku.blog.config.CorpusGenerator;
+import com.irku.blog.dto.BlogSummaryDto;
+import com.irku.blog.entity.Blog;
+import com.irku.blog.entity.BlogStatus;
+import com.irku.blog.entity.Slugifier;
+import com.irku.blog.repository.BlogRepository;
+import com.irku.blog.repository.BlogSearchRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository queries against a seeded SQLite file.
+ * Each corpus size gets its own database file under target/, filled by CorpusGenerator on first use
+ * and reused afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    // Blogs PopularityIndex keeps per ranking by default
+    private static final int RANKED = 100;
+
+    // Posts sharing one title, so their slugs are base, base-1, ..., base-(SLUG_COLLISIONS - 1)
+    private static final int SLUG_COLLISIONS = 100;
+    private static final String COLLIDING_SLUG = "benchmark-collision";
+
+    @Param({"10000", "100000"})
+    public int posts;
+
+    private ConfigurableApplicationContext context;
+    private BlogRepository blogRepository;
+    private BlogSearchRepository searchRepository;
+    private List<String> slugs;
+    private List<Long> rankedIds;
+    private BlogSummaryDto middle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Path database = Path.of("target", "benchmark-" + posts + ".db").toAbsolutePath();
+        context = new SpringApplicationBuilder(BlogApplication.class)
+                .web(WebApplicationType.NONE)
+                // Passed as arguments so they take precedence over application.yml
+                .run("--spring.datasource.url=jdbc:sqlite:" + database,
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--blog.views.flush-interval-ms=3600000",
+                        "--blog.outbox.poll-interval-ms=3600000");
+        blogRepository = context.getBean(BlogRepository.class);
+        searchRepository = context.getBean(BlogSearchRepository.class);
+
+        long existing = blogRepository.count();
+        if (existing < posts) {
+            context.getBean(CorpusGenerator.class).generate((int) (posts - existing));
+        }
+
+        insertSlugCollisions(context.getBean(JdbcTemplate.class));
+
+        slugs = blogRepository.findSummarySlice(BlogStatus.PUBLISHED, PageRequest.of(0, 1_000))
+                .stream().map(BlogSummaryDto::getSlug).toList();
+        rankedIds = blogRepository.findSummarySlice(BlogStatus.PUBLISHED, PageRequest.of(0, RANKED))
+                .stream().map(BlogSummaryDto::getId).toList();
+        long published = blogRepository.countByStatus(BlogStatus.PUBLISHED);
+        middle = blogRepository.findSummarySlice(BlogStatus.PUBLISHED, PageRequest.of((int) (published / 2), 1))
+                .getFirst();
+    }
+
+    private void insertSlugCollisions(JdbcTemplate jdbcTemplate) {
+        if (!blogRepository.findSlugVariants(COLLIDING_SLUG, null).isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(SLUG_COLLISIONS);
+        for (int i = 0; i < SLUG_COLLISIONS; i++) {
+            String slug = i == 0 ? COLLIDING_SLUG : COLLIDING_SLUG + "-" + i;
+            rows.add(new Object[]{"Benchmark collision " + i, "x", slug, System.currentTimeMillis()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO blogs (title, content, slug, status, created_at) " +
+                "VALUES (?, ?, ?, 'DRAFT', ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BlogSummaryDto> firstPage() {
+        return blogRepository.findSummarySlice(BlogStatus.PUBLISHED, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    // Offset pagination halfway through the corpus, including the count query
+    @Benchmark
+    public Page<BlogSummaryDto> deepOffsetPage() {
+        int page = posts / PAGE_SIZE / 4;
+        return blogRepository.findSummariesByStatus(BlogStatus.PUBLISHED, PageRequest.of(page, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<BlogSummaryDto> deepKeysetPage() {
+        return blogRepository.findSummarySliceAfter(BlogStatus.PUBLISHED,
+                middle.getPublishedAt(), middle.getId(), PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<BlogSummaryDto> featured() {
+        return blogRepository.findFeaturedSummaries(BlogStatus.PUBLISHED);
+    }
+
+    @Benchmark
+    public List<BlogSummaryDto> recent() {
+        return blogRepository.findRecentSummaries(BlogStatus.PUBLISHED,
+                LocalDateTime.now().minusDays(30), PageRequest.of(0, PAGE_SIZE));
+    }
+
+    // View counts PopularityIndex seeds its rankings from on startup and after a bulk load
+    @Benchmark
+    public List<Object[]> popularitySeed() {
+        return blogRepository.findViewCounts(BlogStatus.PUBLISHED);
+    }
+
+    // Summaries PopularityIndex loads for blogs that entered a ranking, here a full ranking at once
+    @Benchmark
+    public List<BlogSummaryDto> rankedSummaries() {
+        return blogRepository.findSummariesByIds(rankedIds);
+    }
+
+    @Benchmark
+    public Optional<Blog> bySlug() {
+        String slug = slugs.get(ThreadLocalRandom.current().nextInt(slugs.size()));
+        return blogRepository.findBySlugAndStatus(slug, BlogStatus.PUBLISHED);
+    }
+
+    @Benchmark
+    public long countPublished() {
+        return blogRepository.countByStatus(BlogStatus.PUBLISHED);
+    }
+
+    @Benchmark
+    public Page<BlogSummaryDto> search() {
+        return searchRepository.search("spring arch", BlogStatus.PUBLISHED, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    // Free slug for a title shared by SLUG_COLLISIONS posts, from a single range query over the slug index
+    @Benchmark
+    public String slugRangeQuery() {
+        return Slugifier.firstAvailable(COLLIDING_SLUG,
+                blogRepository.findSlugVariants(COLLIDING_SLUG, null));
+    }
+}
@@ -0,0 +1,46 @@
+package com.irku.blog.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.irku.blog.dto.BlogDto;
+import com.irku.blog.dto.BlogSummaryDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of list payloads, using an ObjectMapper configured the way Spring Boot builds it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    @Param({"20", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<BlogSummaryDto> summaries;
+    private List<BlogDto> blogs;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        summaries = Fixtures.blogs(size, 4_000).stream().map(BlogSummaryDto::new).toList();
+        blogs = Fixtures.blogs(size, 4_000).stream().map(BlogDto::new).toList();
+    }
+
+    @Benchmark
+    public byte[] summaryList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] fullList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(blogs);
+    }
+}
@@ -0,0 +1,58 @@
+package com.irku.blog.benchmark;
+
+import com.irku.blog.entity.Blog;
+import com.irku.blog.entity.Slugifier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SlugBenchmark {
+
+    private final Blog blog = new Blog();
+    private List<String> titles;
+    private List<String> unicodeTitles;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        titles = Fixtures.titles(1024);
+        unicodeTitles = Fixtures.unicodeTitles(1024);
+    }
+
+    @Benchmark
+    public String generateSlug() {
+        String title = titles.get(next++ & 1023);
+        return blog.generateSlug(title);
+    }
+
+    // The previous implementation, which compiled two regexes per call
+    @Benchmark
+    public String generateSlugRegex() {
+        String title = titles.get(next++ & 1023);
+        return title.toLowerCase()
+                .replaceAll("[^a-z0-9\\s]", "")
+                .replaceAll("\\s+", "-")
+                .trim();
+    }
+
+    @Benchmark
+    public String generateSlugUnicode() {
+        String title = unicodeTitles.get(next++ & 1023);
+        return Slugifier.slugify(title);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void generateSlugBatch(Blackhole blackhole) {
+        for (String title : titles) {
+            blackhole.consume(blog.generateSlug(title));
+        }
+    }
+}
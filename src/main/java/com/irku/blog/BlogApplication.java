@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -12,6 +13,7 @@ import static org.springframework.data.web.config.EnableSpringDataWebSupport.Pag
 
 @SpringBootApplication
 @EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO)
+@EnableScheduling
 public class BlogApplication {
 
     public static void main(String[] args) {
@@ -26,6 +28,8 @@ public class BlogApplication {
         config.addAllowedOrigin("https://irku.se"); // The origin that is making the request
         config.addAllowedOrigin("http://localhost:63342"); //Allow origin for local development
         config.addAllowedHeader("*");
+        config.addExposedHeader("X-View-Count"); // Current counts of a blog read, also sent with a 304 from the read cache
+        config.addExposedHeader("X-Unique-Views");
         config.addAllowedMethod("OPTIONS");
         config.addAllowedMethod("HEAD");
         config.addAllowedMethod("GET");
@@ -0,0 +1,49 @@
+package com.irku.blog.config;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of callers concurrently using a blocking resource.
+ * Waiting callers park (cheap on virtual threads) for at most the configured timeout,
+ * so an unbounded number of request threads cannot stampede a small resource.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    public Bulkhead(String name, int maxConcurrent, Duration timeout) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    // Wait for a permit; returns false if none became available within the timeout
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,36 @@
+package com.irku.blog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+
+/**
+ * Puts the SMTP server behind a bulkhead.
+ * With virtual threads enabled every request gets its own thread, so nothing but these
+ * permits limits how many callers queue up on it. The SQLite pools get theirs in
+ * SqliteDataSourceConfig, below the lazy routing proxy.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    // Static so the post-processor is registered before the beans it wraps are created
+    @Bean
+    public static BeanPostProcessor bulkheadPostProcessor(
+            @Value("${blog.bulkhead.mail.permits:2}") int mailPermits,
+            @Value("${blog.bulkhead.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        Duration timeout = Duration.ofMillis(acquireTimeoutMs);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JavaMailSender mailSender && !(bean instanceof BulkheadMailSender)) {
+                    return new BulkheadMailSender(mailSender, new Bulkhead(beanName, mailPermits, timeout));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.irku.blog.config;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.io.InputStream;
+
+/**
+ * JavaMailSender that limits how many SMTP sessions run at the same time.
+ * Each send call (single message or batch) holds one permit for its whole round trip.
+ */
+public class BulkheadMailSender implements JavaMailSender {
+
+    private final JavaMailSender delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadMailSender(JavaMailSender delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return delegate.createMimeMessage();
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) throws MailException {
+        return delegate.createMimeMessage(contentStream);
+    }
+
+    @Override
+    public void send(MimeMessage mimeMessage) throws MailException {
+        guarded(() -> delegate.send(mimeMessage));
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) throws MailException {
+        guarded(() -> delegate.send(mimeMessages));
+    }
+
+    @Override
+    public void send(MimeMessagePreparator mimeMessagePreparator) throws MailException {
+        guarded(() -> delegate.send(mimeMessagePreparator));
+    }
+
+    @Override
+    public void send(MimeMessagePreparator... mimeMessagePreparators) throws MailException {
+        guarded(() -> delegate.send(mimeMessagePreparators));
+    }
+
+    @Override
+    public void send(SimpleMailMessage simpleMessage) throws MailException {
+        guarded(() -> delegate.send(simpleMessage));
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) throws MailException {
+        guarded(() -> delegate.send(simpleMessages));
+    }
+
+    private void guarded(Runnable send) {
+        if (!bulkhead.tryAcquire()) {
+            throw new MailSendException("Bulkhead '" + bulkhead.getName() +
+                    "' is full, no SMTP slot available within " + bulkhead.getTimeoutMillis() + "ms");
+        }
+        try {
+            send.run();
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
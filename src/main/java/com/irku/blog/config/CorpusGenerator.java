@@ -0,0 +1,232 @@
+package com.irku.blog.config;
+
+import com.irku.blog.entity.BlogStatus;
+import com.irku.blog.service.BlogStatsTracker;
+import com.irku.blog.service.BlogWriteQueue;
+import com.irku.blog.service.CatalogVersion;
+import com.irku.blog.service.PopularityIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk-loads synthetic blog posts for benchmarks, load tests and local experiments.
+ * Rows are written with JDBC batches, bypassing JPA, in large chunks that go through the
+ * BlogWriteQueue like any other write, so a load can run while the application serves requests.
+ * The full-text index is rebuilt once at the end instead of being maintained row by row; if the
+ * process dies before that, SearchIndexMaintenance restores the index on the next start.
+ * Output is deterministic for a given random seed and starting row count.
+ */
+@Component
+public class CorpusGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(CorpusGenerator.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO blogs (title, content, excerpt, author, featured_image_url, slug, status, " +
+            "view_count, is_featured, created_at, updated_at, published_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] WORDS = {
+            "spring", "boot", "java", "architecture", "cloud", "native", "performance", "sqlite",
+            "virtual", "threads", "design", "patterns", "microservices", "security", "testing", "data",
+            "enterprise", "api", "gateway", "kubernetes", "container", "observability", "latency", "cache",
+            "index", "query", "transaction", "stream", "event", "domain", "migration", "platform",
+            "resilience", "scaling", "deployment", "pipeline", "frontend", "backend", "service", "model"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlogWriteQueue blogWriteQueue;
+    private final SearchIndexMaintenance searchIndex;
+    private final BlogStatsTracker statsTracker;
+    private final PopularityIndex popularityIndex;
+    private final CatalogVersion catalogVersion;
+
+    @Value("${blog.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${blog.seed.transaction-size:100000}")
+    private int transactionSize;
+
+    @Value("${blog.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${blog.seed.authors:25}")
+    private int authors;
+
+    @Value("${blog.seed.content-min-chars:300}")
+    private int contentMinChars;
+
+    @Value("${blog.seed.content-max-chars:3000}")
+    private int contentMaxChars;
+
+    @Value("${blog.seed.published-ratio:0.8}")
+    private double publishedRatio;
+
+    @Value("${blog.seed.archived-ratio:0.05}")
+    private double archivedRatio;
+
+    @Value("${blog.seed.featured-ratio:0.02}")
+    private double featuredRatio;
+
+    @Value("${blog.seed.max-views:100000}")
+    private long maxViews;
+
+    @Value("${blog.seed.years:5}")
+    private int years;
+
+    @Value("${blog.seed.cache-size-kib:262144}")
+    private long cacheSizeKib;
+
+    @Value("${blog.seed.rebuild-search-index:true}")
+    private boolean rebuildSearchIndex;
+
+    public CorpusGenerator(JdbcTemplate jdbcTemplate,
+                           BlogWriteQueue blogWriteQueue,
+                           SearchIndexMaintenance searchIndex,
+                           BlogStatsTracker statsTracker,
+                           PopularityIndex popularityIndex,
+                           CatalogVersion catalogVersion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blogWriteQueue = blogWriteQueue;
+        this.searchIndex = searchIndex;
+        this.statsTracker = statsTracker;
+        this.popularityIndex = popularityIndex;
+        this.catalogVersion = catalogVersion;
+    }
+
+    // Insert count posts, numbering them after the posts already present so titles and slugs stay unique
+    public void generate(int count) {
+        if (count <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        Long existing = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM blogs", Long.class);
+        long first = existing != null ? existing + 1 : 1;
+        SplittableRandom random = new SplittableRandom(randomSeed ^ first);
+        long now = System.currentTimeMillis();
+
+        try {
+            int written = 0;
+            while (written < count) {
+                int chunk = Math.min(transactionSize, count - written);
+                long offset = first + written;
+                boolean firstChunk = written == 0;
+                blogWriteQueue.submit(() -> {
+                    // Row-by-row index maintenance dominates a bulk load, so index everything in one pass
+                    // at the end; writes between the chunks are covered by that pass too
+                    if (firstChunk && rebuildSearchIndex) {
+                        searchIndex.suspendTriggers();
+                    }
+                    insertChunk(random, offset, chunk, now);
+                    return null;
+                }).join();
+                written += chunk;
+                log.info("Generated {} of {} blog posts", written, count);
+            }
+        } finally {
+            if (rebuildSearchIndex) {
+                // One commit, so no write lands between the rebuild and the triggers being back
+                blogWriteQueue.submit(() -> {
+                    searchIndex.resumeTriggers();
+                    searchIndex.rebuild();
+                    return null;
+                }).join();
+            }
+        }
+
+        statsTracker.reseed();
+        popularityIndex.reseed();
+        catalogVersion.bump();
+        log.info("Generated {} blog posts in {} ms", count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void insertChunk(SplittableRandom random, long offset, int count, long now) {
+        // The unique indexes take random inserts; a large page cache keeps them from thrashing the disk
+        Integer cacheSize = jdbcTemplate.queryForObject("PRAGMA cache_size", Integer.class);
+        jdbcTemplate.execute("PRAGMA cache_size = -" + cacheSizeKib);
+        try {
+            insertRows(random, offset, count, now);
+        } finally {
+            jdbcTemplate.execute("PRAGMA cache_size = " + cacheSize);
+        }
+    }
+
+    private void insertRows(SplittableRandom random, long offset, int count, long now) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < count; i++) {
+            batch.add(row(random, offset + i, now));
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+
+    private Object[] row(SplittableRandom random, long number, long now) {
+        // Title words are lowercase letters only, so the slug is just the words joined by dashes
+        int titleWords = random.nextInt(3, 9);
+        StringBuilder title = new StringBuilder(80);
+        StringBuilder slug = new StringBuilder(80);
+        for (int w = 0; w < titleWords; w++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            title.append(w == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word).append(' ');
+            slug.append(word).append('-');
+        }
+        title.append(number);
+        slug.append(number);
+
+        String excerpt = words(random, random.nextInt(80, 200)) + " (" + number + ")";
+        String content = words(random, random.nextInt(contentMinChars, contentMaxChars + 1));
+
+        double roll = random.nextDouble();
+        BlogStatus status = roll < publishedRatio ? BlogStatus.PUBLISHED
+                : roll < publishedRatio + archivedRatio ? BlogStatus.ARCHIVED
+                : BlogStatus.DRAFT;
+        boolean featured = status == BlogStatus.PUBLISHED && random.nextDouble() < featuredRatio;
+
+        // Log-uniform view counts: most posts have few views, a handful have very many
+        long views = status == BlogStatus.DRAFT ? 0L
+                : (long) Math.floor(Math.exp(random.nextDouble() * Math.log(maxViews + 1.0))) - 1;
+
+        long published = now - random.nextLong(TimeUnit.DAYS.toMillis(365L * years));
+        long created = published - random.nextLong(TimeUnit.DAYS.toMillis(14));
+        long updated = published + random.nextLong(Math.max(1, now - published));
+
+        return new Object[]{
+                title.toString(),
+                content,
+                excerpt,
+                "Author " + (1 + random.nextInt(authors)),
+                random.nextInt(4) == 0 ? "https://picsum.photos/seed/" + number + "/1200/630" : null,
+                slug.toString(),
+                status.name(),
+                views,
+                featured,
+                created,
+                updated,
+                status == BlogStatus.DRAFT ? null : published
+        };
+    }
+
+    private static String words(SplittableRandom random, int chars) {
+        StringBuilder text = new StringBuilder(chars + 16);
+        while (text.length() < chars) {
+            if (!text.isEmpty()) {
+                text.append(random.nextInt(12) == 0 ? ". " : " ");
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -4,6 +4,7 @@ import com.irku.blog.entity.Blog;
 import com.irku.blog.entity.BlogStatus;
 import com.irku.blog.repository.BlogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -15,12 +16,26 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private BlogRepository blogRepository;
     
+    @Autowired
+    private CorpusGenerator corpusGenerator;
+    
+    // Number of posts to top the database up to with synthetic data; 0 disables seeding
+    @Value("${blog.seed.posts:0}")
+    private int seedPosts;
+    
     @Override
     public void run(String... args) throws Exception {
         // Only initialize if no blogs exist
 /*        if (blogRepository.count() == 0) {
             initializeSampleBlogs();
         }*/
+        
+        if (seedPosts > 0) {
+            long existing = blogRepository.count();
+            if (existing < seedPosts) {
+                corpusGenerator.generate((int) (seedPosts - existing));
+            }
+        }
     }
     
     private void initializeSampleBlogs() {
@@ -0,0 +1,77 @@
+package com.irku.blog.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records how many Hibernate statements each request runs and flags likely N+1 patterns.
+ * A request is logged when the same statement runs at least blog.metrics.n-plus-one-threshold
+ * times, or when its total exceeds blog.metrics.max-queries-per-request.
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.metrics.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    @Value("${blog.metrics.max-queries-per-request:20}")
+    private int maxQueriesPerRequest;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCountInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(request, QueryCountInspector.finish());
+        }
+    }
+
+    private void record(HttpServletRequest request, Map<String, Integer> statements) {
+        // Route template rather than the raw path, so ids and slugs do not explode the tag values
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        int total = statements.values().stream().mapToInt(Integer::intValue).sum();
+
+        DistributionSummary.builder("blog.http.queries")
+                .description("Hibernate statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(total);
+
+        statements.forEach((sql, count) -> {
+            if (count >= nPlusOneThreshold) {
+                log.warn("Possible N+1 on {} {}: statement ran {} times: {}",
+                        request.getMethod(), request.getRequestURI(), count, sql);
+            }
+        });
+        if (total > maxQueriesPerRequest) {
+            log.warn("{} {} ran {} statements ({} distinct)",
+                    request.getMethod(), request.getRequestURI(), total, statements.size());
+        }
+    }
+}
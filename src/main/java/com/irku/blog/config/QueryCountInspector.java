@@ -0,0 +1,38 @@
+package com.irku.blog.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a request is tracked.
+ * Statements are keyed by their text; parameters are bound as placeholders, so the same query
+ * run for every row of a list shows up as one statement with a high count.
+ * Queries run through JdbcTemplate (search, bulk loads) do not pass through Hibernate and are not counted.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<Map<String, Integer>> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> counts = CURRENT.get();
+        if (counts != null) {
+            counts.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    // Start counting on this thread
+    public static void start() {
+        CURRENT.set(new HashMap<>());
+    }
+
+    // Stop counting and return the statements seen since start(), with how often each one ran
+    public static Map<String, Integer> finish() {
+        Map<String, Integer> counts = CURRENT.get();
+        CURRENT.remove();
+        return counts != null ? counts : Map.of();
+    }
+}
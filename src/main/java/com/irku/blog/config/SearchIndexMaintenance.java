@@ -0,0 +1,77 @@
+package com.irku.blog.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintenance operations on the blogs_fts FTS5 index used by BlogSearchRepository.
+ * The index and its sync triggers are created by migration V3; the trigger definitions
+ * here must match it, since bulk loads drop the triggers and recreate them afterwards.
+ * A load that died in between leaves the triggers missing; startup checks for that and repairs it.
+ */
+@Component
+public class SearchIndexMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexMaintenance.class);
+
+    private static final String COUNT_TRIGGERS =
+            "SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' AND name IN " +
+            "('blogs_fts_after_insert', 'blogs_fts_after_delete', 'blogs_fts_after_update')";
+
+    private static final String CREATE_INSERT_TRIGGER =
+            "CREATE TRIGGER IF NOT EXISTS blogs_fts_after_insert AFTER INSERT ON blogs BEGIN " +
+            "INSERT INTO blogs_fts(rowid, title, content, excerpt) " +
+            "VALUES (new.id, new.title, new.content, new.excerpt); END";
+
+    private static final String CREATE_DELETE_TRIGGER =
+            "CREATE TRIGGER IF NOT EXISTS blogs_fts_after_delete AFTER DELETE ON blogs BEGIN " +
+            "INSERT INTO blogs_fts(blogs_fts, rowid, title, content, excerpt) " +
+            "VALUES ('delete', old.id, old.title, old.content, old.excerpt); END";
+
+    private static final String CREATE_UPDATE_TRIGGER =
+            "CREATE TRIGGER IF NOT EXISTS blogs_fts_after_update AFTER UPDATE OF title, content, excerpt ON blogs BEGIN " +
+            "INSERT INTO blogs_fts(blogs_fts, rowid, title, content, excerpt) " +
+            "VALUES ('delete', old.id, old.title, old.content, old.excerpt); " +
+            "INSERT INTO blogs_fts(rowid, title, content, excerpt) " +
+            "VALUES (new.id, new.title, new.content, new.excerpt); END";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchIndexMaintenance(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Runs after the migrations (JdbcTemplate depends on Flyway) and before the first request
+    @PostConstruct
+    public void ensureTriggers() {
+        Integer present = jdbcTemplate.queryForObject(COUNT_TRIGGERS, Integer.class);
+        if (present != null && present == 3) {
+            return;
+        }
+        // Rows written while the triggers were missing are not indexed, so re-index everything
+        log.warn("Search index triggers missing (interrupted bulk load?), recreating them and rebuilding the index");
+        resumeTriggers();
+        rebuild();
+    }
+
+    // Stop indexing row by row, e.g. for a bulk load; call rebuild() and resumeTriggers() afterwards
+    public void suspendTriggers() {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS blogs_fts_after_insert");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS blogs_fts_after_delete");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS blogs_fts_after_update");
+    }
+
+    public void resumeTriggers() {
+        jdbcTemplate.execute(CREATE_INSERT_TRIGGER);
+        jdbcTemplate.execute(CREATE_DELETE_TRIGGER);
+        jdbcTemplate.execute(CREATE_UPDATE_TRIGGER);
+    }
+
+    // Re-index every blog from the blogs table
+    public void rebuild() {
+        jdbcTemplate.execute("INSERT INTO blogs_fts(blogs_fts) VALUES ('rebuild')");
+    }
+}
@@ -0,0 +1,88 @@
+package com.irku.blog.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * The two SQLite connection pools behind the application DataSource.
+ * A single writer connection serializes all writes, so they queue in the pool instead of
+ * failing with SQLITE_BUSY, while a pool of read-only connections serves reads in parallel.
+ * WAL journaling lets those readers run concurrently with the writer.
+ */
+public class SqliteConnectionPools implements AutoCloseable {
+
+    private final HikariDataSource writer;
+    private final HikariDataSource reader;
+
+    public SqliteConnectionPools(String url, Settings settings) {
+        // The writer is opened first: it creates the database file and switches it to WAL,
+        // which read-only connections can neither do nor work without
+        this.writer = pool("sqlite-writer", url, writerConfig(settings), false, 1, settings.writeTimeoutMs());
+        this.reader = pool("sqlite-reader", url, readerConfig(settings), true, settings.readPoolSize(),
+                settings.readTimeoutMs());
+    }
+
+    public DataSource writer() {
+        return writer;
+    }
+
+    public DataSource reader() {
+        return reader;
+    }
+
+    @Override
+    public void close() {
+        reader.close();
+        writer.close();
+    }
+
+    private static SQLiteConfig writerConfig(Settings settings) {
+        SQLiteConfig config = commonConfig(settings);
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        // Durable across application crashes; only an OS crash or power loss can drop the last commits
+        config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        return config;
+    }
+
+    private static SQLiteConfig readerConfig(Settings settings) {
+        SQLiteConfig config = commonConfig(settings);
+        config.setReadOnly(true);
+        return config;
+    }
+
+    private static SQLiteConfig commonConfig(Settings settings) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setBusyTimeout(settings.busyTimeoutMs());
+        // Negative cache_size is in KiB rather than pages
+        config.setCacheSize(-settings.cacheSizeKib());
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(settings.mmapSizeBytes()));
+        return config;
+    }
+
+    private static HikariDataSource pool(String name, String url, SQLiteConfig sqliteConfig,
+                                         boolean readOnly, int size, long timeoutMs) {
+        SQLiteDataSource dataSource = new SQLiteDataSource(sqliteConfig);
+        dataSource.setUrl(url);
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setDataSource(dataSource);
+        // SQLite fixes the read-only flag when the connection opens; Hikari must agree with it
+        config.setReadOnly(readOnly);
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(size);
+        config.setConnectionTimeout(timeoutMs);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Pool sizing and per-connection SQLite pragmas.
+     */
+    public record Settings(int readPoolSize, long readTimeoutMs, long writeTimeoutMs,
+                           int busyTimeoutMs, int cacheSizeKib, long mmapSizeBytes) {
+    }
+}
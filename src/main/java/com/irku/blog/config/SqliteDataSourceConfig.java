@@ -0,0 +1,48 @@
+package com.irku.blog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Application DataSource that routes read-only transactions to the reader pool.
+ * Spring marks the connection of a @Transactional(readOnly = true) method read-only before
+ * the first statement runs; the lazy proxy only then picks the pool, so those methods
+ * get a reader connection and everything else goes to the single writer.
+ * Each pool sits behind its own bulkhead, so a permit is only held while a physical connection
+ * is, and readers queueing up never take the permits writers need.
+ */
+@Configuration
+public class SqliteDataSourceConfig {
+
+    @Bean
+    public SqliteConnectionPools sqliteConnectionPools(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${blog.datasource.read-pool-size:8}") int readPoolSize,
+            @Value("${blog.datasource.read-timeout-ms:10000}") long readTimeoutMs,
+            @Value("${blog.datasource.write-timeout-ms:30000}") long writeTimeoutMs,
+            @Value("${blog.datasource.busy-timeout-ms:5000}") int busyTimeoutMs,
+            @Value("${blog.datasource.cache-size-kib:16384}") int cacheSizeKib,
+            @Value("${blog.datasource.mmap-size-bytes:268435456}") long mmapSizeBytes) {
+        return new SqliteConnectionPools(url, new SqliteConnectionPools.Settings(
+                readPoolSize, readTimeoutMs, writeTimeoutMs, busyTimeoutMs, cacheSizeKib, mmapSizeBytes));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(SqliteConnectionPools pools,
+                                 @Value("${blog.bulkhead.datasource.permits:10}") int permits,
+                                 @Value("${blog.bulkhead.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        Duration timeout = Duration.ofMillis(acquireTimeoutMs);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new BulkheadDataSource(pools.writer(), new Bulkhead("sqliteWriter", permits, timeout)));
+        dataSource.setReadOnlyDataSource(
+                new BulkheadDataSource(pools.reader(), new Bulkhead("sqliteReader", permits, timeout)));
+        return dataSource;
+    }
+}
@@ -1,27 +1,99 @@
 package com.irku.blog.controller;
 
+import com.irku.blog.dto.BlogChanges;
 import com.irku.blog.dto.BlogDto;
 import com.irku.blog.dto.BlogSummaryDto;
+import com.irku.blog.dto.BlogViewSeries;
+import com.irku.blog.dto.BulkImportResult;
+import com.irku.blog.dto.CursorPage;
+import com.irku.blog.entity.BlogStatus;
+import com.irku.blog.service.BlogEventFeed;
+import com.irku.blog.service.BlogReadCache;
 import com.irku.blog.service.BlogService;
 import com.irku.blog.service.BlogServiceImpl;
+import com.irku.blog.service.CatalogVersion;
+import com.irku.blog.service.PopularityIndex;
+import com.irku.blog.service.ResponseSnapshots;
+import com.irku.blog.service.UniqueViewCounter;
+import com.irku.blog.service.ViewTimeSeries;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/blogs")
 @Tag(name = "Blogs", description = "Operations for browsing and managing blogs")
 public class BlogController {
-    
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_CHANGES_LIMIT = 1000;
+
+    // Current counts of a blog read; they change without a catalog change, so they are not part of the ETag
+    private static final String VIEW_COUNT = "X-View-Count";
+    private static final String UNIQUE_VIEWS = "X-Unique-Views";
+
     private final BlogService blogService;
+    private final CatalogVersion catalogVersion;
+    private final PopularityIndex popularityIndex;
+    private final ResponseSnapshots responseSnapshots;
+    private final ObjectMapper objectMapper;
+    private final BlogEventFeed blogEventFeed;
+
+    @Value("${blog.bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
-    public BlogController(BlogService blogService) {
+    public BlogController(BlogService blogService,
+                          CatalogVersion catalogVersion,
+                          PopularityIndex popularityIndex,
+                          ResponseSnapshots responseSnapshots,
+                          ObjectMapper objectMapper,
+                          BlogEventFeed blogEventFeed) {
         this.blogService = blogService;
+        this.catalogVersion = catalogVersion;
+        this.popularityIndex = popularityIndex;
+        this.responseSnapshots = responseSnapshots;
+        this.objectMapper = objectMapper;
+        this.blogEventFeed = blogEventFeed;
     }
 
     @Operation(summary = "Get all blogs")
@@ -32,10 +104,72 @@ public class BlogController {
     }
 
     @Operation(summary = "Get all published blogs")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = BlogSummaryDto.class))))
     @GetMapping
-    public ResponseEntity<List<BlogSummaryDto>> getAllPublishedBlogs() {
-        List<BlogSummaryDto> blogs = blogService.getAllPublishedBlogs();
-        return ResponseEntity.ok(blogs);
+    public ResponseEntity<byte[]> getAllPublishedBlogs(WebRequest request) {
+        return snapshot("published", blogService::getAllPublishedBlogs, request);
+    }
+
+    @Operation(summary = "Export all blogs with content as NDJSON (one JSON object per line)")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportBlogs(
+            @RequestParam(required = false) BlogStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("blogs.ndjson").build().toString())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> writeExport(status, out, gzip));
+    }
+
+    @Operation(summary = "Get blogs changed since a watermark",
+            description = "Returns blogs of any status created or updated after the watermark and the ids of " +
+                    "deleted blogs, plus a new watermark to pass as since on the next call. Omit since to start " +
+                    "from the full catalog; keep calling while hasMore is true. resync=true means the watermark " +
+                    "had expired and the feed restarted from the full catalog.")
+    @GetMapping("/changes")
+    public ResponseEntity<BlogChanges> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            BlogChanges changes = blogService.getChanges(since, Math.min(limit, MAX_CHANGES_LIMIT));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(changes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Subscribe to blog changes as Server-Sent Events",
+            description = "Sends created, updated, published and deleted events as blogs change. Reconnecting " +
+                    "with Last-Event-ID (or lastEventId) replays missed events; a reset event means too much was " +
+                    "missed and the client should reload.")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        Long after;
+        try {
+            after = resumeFrom == null || resumeFrom.isBlank() ? null : Long.valueOf(resumeFrom.trim());
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Stop buffering reverse proxies from holding events back
+                .header("X-Accel-Buffering", "no")
+                .body(blogEventFeed.subscribe(after));
     }
 
     @Operation(summary = "Get blog statistics (total published blogs and total views)")
@@ -45,11 +179,29 @@ public class BlogController {
         return ResponseEntity.ok(stats);
     }
 
-    @Operation(summary = "Get published blogs (paginated)")
+    @Operation(summary = "Get blog read cache statistics (hits, misses, evictions)")
+    @GetMapping("/stats/cache")
+    public ResponseEntity<BlogReadCache.CacheStats> getCacheStats() {
+        return ResponseEntity.ok(blogService.getCacheStats());
+    }
+
+    @Operation(summary = "Get published blogs (paginated)",
+            description = "Offset paging by default. Pass cursor (empty for the first slice) to switch to " +
+                    "keyset paging, which returns a nextCursor token and only counts totals when withTotal=true.")
     @GetMapping("/page")
-    public ResponseEntity<Page<BlogSummaryDto>> getBlogsWithPagination(
+    public ResponseEntity<?> getBlogsWithPagination(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        if (cursor != null) {
+            try {
+                CursorPage<BlogSummaryDto> blogs = blogService.getPublishedBlogs(cursor, size, withTotal);
+                return ResponseEntity.ok(blogs);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         Page<BlogSummaryDto> blogs = blogService.getPublishedBlogs(page, size);
         return ResponseEntity.ok(blogs);
     }
@@ -62,73 +214,380 @@ public class BlogController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    @Operation(summary = "Get published blog by slug and increment view count")
+    @Operation(summary = "Get the views of a blog per hour or day",
+            description = "from and to are ISO dates or date-times in server time; to is exclusive and defaults " +
+                    "to now, from defaults to 24 hours (hour) or 30 days (day) before to. Hours or days without " +
+                    "views are included with 0.")
+    @GetMapping("/{id}/views")
+    public ResponseEntity<BlogViewSeries> getViewSeries(
+            @PathVariable Long id,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "hour") String granularity) {
+        try {
+            ViewTimeSeries.Granularity pointSize = ViewTimeSeries.Granularity.fromParam(granularity);
+            LocalDateTime end = to != null ? parseTime(to) : LocalDateTime.now();
+            LocalDateTime start = from != null ? parseTime(from) : end.minus(pointSize.defaultRange());
+            return blogService.getViewSeries(id, start, end, pointSize)
+                    .map(series -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(series))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // The ETag is deliberately weak and global: the catalog version moves on every create, update and
+    // delete, so a 304 needs no load of the blog. A per-blog validator would need its updatedAt, which is
+    // the load this avoids on a read-cache miss. A 304 carries the counts only if the blog is cached
+    @Operation(summary = "Get published blog by slug and increment view count",
+            description = "Validated by a weak ETag of the whole catalog (If-None-Match); current view counts " +
+                    "are in the X-View-Count and X-Unique-Views headers.")
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<BlogDto> getBlogBySlug(@PathVariable String slug) {
-        Optional<BlogDto> blog = blogService.getPublishedBlogBySlug(slug);
-        if (blog.isPresent()) {
-            blogService.incrementViewCount(slug);
-            return ResponseEntity.ok(blog.get());
+    public ResponseEntity<BlogDto> getBlogBySlug(@PathVariable String slug, WebRequest request,
+                                                 HttpServletRequest servletRequest,
+                                                 HttpServletResponse servletResponse) {
+        // Only the id is needed to answer 404 or 304 and count the view; a cache miss reads just the slug index
+        Optional<BlogDto> cached = blogService.getCachedPublishedBlogBySlug(slug);
+        Optional<Long> id = cached.map(BlogDto::getId).or(() -> blogService.getPublishedBlogId(slug));
+        if (id.isEmpty()) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
+        long visitor = UniqueViewCounter.fingerprint(servletRequest.getRemoteAddr(),
+                servletRequest.getHeader(HttpHeaders.USER_AGENT));
+        blogService.incrementViewCount(id.get(), visitor);
+        if (notModified(request)) {
+            // The client still has the current version; the counts are not part of it
+            cached.ifPresent(blog -> {
+                servletResponse.setHeader(VIEW_COUNT, String.valueOf(blog.getViewCount()));
+                servletResponse.setHeader(UNIQUE_VIEWS, String.valueOf(blog.getUniqueViews()));
+            });
+            return null;
+        }
+        Optional<BlogDto> blog = cached.isPresent() ? cached : blogService.getPublishedBlogBySlug(slug);
+        if (blog.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .header(VIEW_COUNT, String.valueOf(blog.get().getViewCount()))
+                .header(UNIQUE_VIEWS, String.valueOf(blog.get().getUniqueViews()))
+                .body(blog.get());
     }
     
     @Operation(summary = "Get featured blogs")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = BlogSummaryDto.class))))
     @GetMapping("/featured")
-    public ResponseEntity<List<BlogSummaryDto>> getFeaturedBlogs() {
-        List<BlogSummaryDto> blogs = blogService.getFeaturedBlogs();
-        return ResponseEntity.ok(blogs);
+    public ResponseEntity<byte[]> getFeaturedBlogs(WebRequest request) {
+        return snapshot("featured", blogService::getFeaturedBlogs, request);
     }
     
-    @Operation(summary = "Search blogs")
+    @Operation(summary = "Search blogs",
+            description = "Offset paging by default. Pass cursor (empty for the first slice) to switch to " +
+                    "keyset paging, which returns a nextCursor token and only counts totals when withTotal=true.")
     @GetMapping("/search")
-    public ResponseEntity<Page<BlogSummaryDto>> searchBlogs(
+    public ResponseEntity<?> searchBlogs(
             @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        if (cursor != null) {
+            try {
+                CursorPage<BlogSummaryDto> blogs = blogService.searchBlogs(q, cursor, size, withTotal);
+                return ResponseEntity.ok(blogs);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         Page<BlogSummaryDto> blogs = blogService.searchBlogs(q, page, size);
         return ResponseEntity.ok(blogs);
     }
     
     @Operation(summary = "Get recent blogs")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = BlogSummaryDto.class))))
     @GetMapping("/recent")
-    public ResponseEntity<List<BlogSummaryDto>> getRecentBlogs(
-            @RequestParam(defaultValue = "5") int limit) {
-        List<BlogSummaryDto> blogs = blogService.getRecentBlogs(limit);
-        return ResponseEntity.ok(blogs);
+    public ResponseEntity<byte[]> getRecentBlogs(
+            @RequestParam(defaultValue = "5") int limit,
+            WebRequest request) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        // The window moves at midnight without a catalog change, so its start is part of the snapshot
+        LocalDate cutoff = blogService.getRecentCutoff();
+        return snapshot("recent:" + limit, "r" + cutoff,
+                () -> blogService.getRecentBlogs(limit, cutoff), request);
     }
     
     @Operation(summary = "Get popular blogs")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = BlogSummaryDto.class))))
     @GetMapping("/popular")
-    public ResponseEntity<List<BlogSummaryDto>> getPopularBlogs(
-            @RequestParam(defaultValue = "5") int limit) {
+    public ResponseEntity<byte[]> getPopularBlogs(
+            @RequestParam(defaultValue = "5") int limit,
+            WebRequest request) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        long version = popularityIndex.version();
         List<BlogSummaryDto> blogs = blogService.getPopularBlogs(limit);
-        return ResponseEntity.ok(blogs);
+        return snapshot("popular:" + limit, rankingVariant(version, blogs), () -> blogs, request);
     }
-    
-    @Operation(summary = "Create a new blog")
-    @PostMapping
-    public ResponseEntity<BlogDto> createBlog(@RequestBody BlogDto blogDto) {
+
+    @Operation(summary = "Get trending blogs (most viewed in the last 24h or 7d)")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = BlogSummaryDto.class))))
+    @GetMapping("/trending")
+    public ResponseEntity<byte[]> getTrendingBlogs(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "5") int limit,
+            WebRequest request) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        PopularityIndex.Window trendingWindow;
         try {
-            BlogDto createdBlog = blogService.createBlog(blogDto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdBlog);
-        } catch (Exception e) {
+            trendingWindow = PopularityIndex.Window.fromParam(window);
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
+        long version = popularityIndex.version();
+        List<BlogSummaryDto> blogs = blogService.getTrendingBlogs(trendingWindow, limit);
+        return snapshot("trending:" + trendingWindow.param() + ":" + limit, rankingVariant(version, blogs),
+                () -> blogs, request);
     }
     
+    @Operation(summary = "Create a new blog")
+    @PostMapping
+    public CompletableFuture<ResponseEntity<BlogDto>> createBlog(@RequestBody BlogDto blogDto) {
+        return blogService.createBlog(blogDto)
+                .thenApply(createdBlog -> ResponseEntity.status(HttpStatus.CREATED).body(createdBlog))
+                .exceptionally(e -> {
+                    Throwable cause = unwrap(e);
+                    if (isInvalidInput(cause)) {
+                        return ResponseEntity.badRequest().build();
+                    }
+                    // Anything else is not the client's fault: a full write queue becomes 503, the rest 500
+                    if (cause instanceof RuntimeException runtime) {
+                        throw runtime;
+                    }
+                    throw new CompletionException(cause);
+                });
+    }
+    
+    @Operation(summary = "Import many blogs from a JSON array or NDJSON; streams back one NDJSON result line per item")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON}, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> importBlogs(HttpServletRequest request) throws IOException {
+        InputStream input = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(out -> writeImport(input, out));
+    }
+
     @Operation(summary = "Update a blog")
     @PutMapping("/{id}")
-    public ResponseEntity<BlogDto> updateBlog(@PathVariable Long id, @RequestBody BlogDto blogDto) {
-        Optional<BlogDto> updatedBlog = blogService.updateBlog(id, blogDto);
-        return updatedBlog.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public CompletableFuture<ResponseEntity<BlogDto>> updateBlog(@PathVariable Long id, @RequestBody BlogDto blogDto) {
+        return blogService.updateBlog(id, blogDto)
+                .thenApply(updatedBlog -> updatedBlog.map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build()));
     }
     
     @Operation(summary = "Delete a blog")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteBlog(@PathVariable Long id) {
-        boolean deleted = blogService.deleteBlog(id);
-        return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    public CompletableFuture<ResponseEntity<Void>> deleteBlog(@PathVariable Long id) {
+        return blogService.deleteBlog(id)
+                .thenApply(deleted -> deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build());
+    }
+
+    // The write queue stayed full for the whole offer timeout, or the change feed is at its
+    // subscriber limit; ask the client to back off
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> writeQueueFull() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
+    // Write blogs one line at a time as they come off the database cursor; nothing is buffered beyond the stream buffers
+    private void writeExport(BlogStatus status, OutputStream target, boolean gzip) throws IOException {
+        OutputStream out = gzip ? new GZIPOutputStream(target, 64 * 1024) : target;
+        // Flushing after every value would send one chunk per blog
+        ObjectWriter writer = objectMapper.writerFor(BlogDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            blogService.exportBlogs(status, blog -> {
+                try {
+                    writeLine(generator, writer, blog);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the cursor and transaction are already closed at this point
+            throw e.getCause();
+        }
+        if (out instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+    }
+
+    // Read items as they arrive, import them a chunk at a time and write each chunk's results before reading on
+    private void writeImport(InputStream input, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BulkImportResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // Handles both NDJSON and a top-level JSON array, which Jackson unwraps into its elements
+        try (MappingIterator<BlogDto> items = objectMapper.readerFor(BlogDto.class).readValues(input);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            List<BlogDto> chunk = new ArrayList<>(bulkChunkSize);
+            int next = 0;
+            String parseError = null;
+            while (parseError == null) {
+                boolean more;
+                try {
+                    more = items.hasNextValue();
+                    if (more) {
+                        chunk.add(items.nextValue());
+                    }
+                } catch (JsonProcessingException e) {
+                    // The rest of the body cannot be trusted; report it and stop after importing what came before
+                    parseError = "Malformed item: " + e.getOriginalMessage();
+                    more = false;
+                }
+                if (chunk.size() == bulkChunkSize || (!more && !chunk.isEmpty())) {
+                    for (BulkImportResult result : importChunk(next, chunk)) {
+                        writeLine(generator, writer, result);
+                    }
+                    next += chunk.size();
+                    chunk.clear();
+                    // Let the client see progress after every chunk
+                    generator.flush();
+                }
+                if (!more) {
+                    break;
+                }
+            }
+            if (parseError != null) {
+                writeLine(generator, writer, BulkImportResult.failed(next, parseError));
+            }
+        }
+    }
+
+    // Results for one chunk; if the whole chunk fails (e.g. a full write queue) every item reports why
+    private List<BulkImportResult> importChunk(int firstIndex, List<BlogDto> chunk) {
+        try {
+            return blogService.importBlogs(firstIndex, chunk).join();
+        } catch (CompletionException e) {
+            String error = "Import failed: " + unwrap(e).getMessage();
+            List<BulkImportResult> failed = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                failed.add(BulkImportResult.failed(firstIndex + i, error));
+            }
+            return failed;
+        }
+    }
+
+    private static void writeLine(JsonGenerator generator, ObjectWriter writer, Object value) throws IOException {
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+
+    // Write a pre-serialized (and pre-compressed, if accepted) list response for the current catalog
+    private ResponseEntity<byte[]> snapshot(String key, Supplier<?> loader, WebRequest request) {
+        return snapshot(key, null, loader, request);
+    }
+
+    // Same for a response that also depends on the given variant, e.g. the rankings version
+    private ResponseEntity<byte[]> snapshot(String key, String variant, Supplier<?> loader, WebRequest request) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String encoded = gzip ? (variant != null ? variant + "-gzip" : "gzip") : variant;
+        String etag = encoded != null ? catalogVersion.etag(encoded) : catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseSnapshots.Snapshot snapshot = responseSnapshots.get(key, variant, loader);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    // Rankings version plus the view counts served, which move with every view not flushed yet.
+    // The ranking is read from memory on each request; the snapshot saves encoding it again
+    private static String rankingVariant(long version, List<BlogSummaryDto> blogs) {
+        long hash = 1;
+        for (BlogSummaryDto blog : blogs) {
+            hash = 31 * hash + blog.getId();
+            hash = 31 * hash + (blog.getViewCount() != null ? blog.getViewCount() : 0L);
+        }
+        return "p" + version + "-" + Long.toHexString(hash);
+    }
+
+    // True if the Accept-Encoding header allows gzip (explicitly or via *) with a non-zero quality
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) <= 0.0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // An ISO date-time, or an ISO date meaning its start
+    private static LocalDateTime parseTime(String value) {
+        return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+    }
+
+    // Answer If-None-Match from the catalog version alone; the ETag is weak since view counts are
+    // not covered. Last-Modified is not used: one-second granularity would miss writes within a second.
+    // Sets the ETag on the response either way.
+    private boolean notModified(WebRequest request) {
+        return request.checkNotModified(catalogVersion.weakEtag());
+    }
+
+    // Rejected input: an argument the service refused, or a bean validation failure, which may
+    // surface wrapped in the transaction's commit exception
+    private static boolean isInvalidInput(Throwable e) {
+        if (e instanceof IllegalArgumentException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Failures of dependent future stages arrive wrapped in CompletionException
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.irku.blog.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One slice of the blog change feed.
+ * Apply the changes, then pass watermark back as since to get what changed afterwards.
+ *
+ * @param changed   blogs created or updated after the previous watermark, in (updatedAt, id) order
+ * @param deleted   blogs deleted after the previous watermark
+ * @param watermark opaque position to pass as since on the next call
+ * @param hasMore   whether more changes are already waiting; call again right away
+ * @param resync    whether the previous watermark had expired: the feed restarted from the full catalog,
+ *                  so drop local blogs that do not come back in it
+ */
+public record BlogChanges(List<BlogDto> changed,
+                          List<Deleted> deleted,
+                          String watermark,
+                          boolean hasMore,
+                          boolean resync) {
+
+    public record Deleted(Long id, String slug, LocalDateTime deletedAt) {
+    }
+}
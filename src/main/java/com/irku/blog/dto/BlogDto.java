@@ -15,6 +15,7 @@ public class BlogDto {
     private String slug;
     private BlogStatus status;
     private Long viewCount;
+    private Long uniqueViews;
     private Boolean isFeatured;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -33,11 +34,29 @@ public class BlogDto {
         this.slug = blog.getSlug();
         this.status = blog.getStatus();
         this.viewCount = blog.getViewCount();
+        this.uniqueViews = blog.getUniqueViews();
         this.isFeatured = blog.getIsFeatured();
         this.createdAt = blog.getCreatedAt();
         this.updatedAt = blog.getUpdatedAt();
         this.publishedAt = blog.getPublishedAt();
     }
+
+    public BlogDto(BlogDto other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.content = other.content;
+        this.excerpt = other.excerpt;
+        this.author = other.author;
+        this.featuredImageUrl = other.featuredImageUrl;
+        this.slug = other.slug;
+        this.status = other.status;
+        this.viewCount = other.viewCount;
+        this.uniqueViews = other.uniqueViews;
+        this.isFeatured = other.isFeatured;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.publishedAt = other.publishedAt;
+    }
     
     // Getters and Setters
     public Long getId() {
@@ -112,6 +131,14 @@ public class BlogDto {
         this.viewCount = viewCount;
     }
     
+    public Long getUniqueViews() {
+        return uniqueViews;
+    }
+    
+    public void setUniqueViews(Long uniqueViews) {
+        this.uniqueViews = uniqueViews;
+    }
+    
     public Boolean getIsFeatured() {
         return isFeatured;
     }
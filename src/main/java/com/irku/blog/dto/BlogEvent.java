@@ -0,0 +1,33 @@
+package com.irku.blog.dto;
+
+import com.irku.blog.entity.BlogStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed blog mutation, as sent to change feed subscribers.
+ *
+ * @param id     event id, increasing; sent as the SSE id so clients can resume with Last-Event-ID
+ * @param type   what happened to the blog
+ * @param blogId id of the blog
+ * @param slug   slug of the blog at the time of the event
+ * @param title  title of the blog at the time of the event
+ * @param status status of the blog after the event, null for deletes
+ * @param at     when the event was recorded
+ */
+public record BlogEvent(long id,
+                        Type type,
+                        Long blogId,
+                        String slug,
+                        String title,
+                        BlogStatus status,
+                        LocalDateTime at) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        // Sent after CREATED or UPDATED when the blog was not published before
+        PUBLISHED,
+        DELETED
+    }
+}
@@ -1,5 +1,6 @@
 package com.irku.blog.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.irku.blog.entity.Blog;
 import com.irku.blog.entity.BlogStatus;
 
@@ -14,9 +15,14 @@ public class BlogSummaryDto {
     private String slug;
     private BlogStatus status;
     private Long viewCount;
+    private Long uniqueViews;
     private Boolean isFeatured;
     private LocalDateTime publishedAt;
     private LocalDateTime updatedAt;
+
+    // Highlighted match context, only set on search results
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String snippet;
     
     // Constructors
     public BlogSummaryDto() {}
@@ -30,11 +36,30 @@ public class BlogSummaryDto {
         this.slug = blog.getSlug();
         this.status = blog.getStatus();
         this.viewCount = blog.getViewCount();
+        this.uniqueViews = blog.getUniqueViews();
         this.isFeatured = blog.getIsFeatured();
         this.publishedAt = blog.getPublishedAt();
         this.updatedAt = blog.getUpdatedAt();
     }
 
+    // Used by JPQL constructor expressions so list queries never select the content column
+    public BlogSummaryDto(Long id, String title, String excerpt, String author, String featuredImageUrl,
+                          String slug, BlogStatus status, Long viewCount, Long uniqueViews, Boolean isFeatured,
+                          LocalDateTime publishedAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.author = author;
+        this.featuredImageUrl = featuredImageUrl;
+        this.slug = slug;
+        this.status = status;
+        this.viewCount = viewCount;
+        this.uniqueViews = uniqueViews;
+        this.isFeatured = isFeatured;
+        this.publishedAt = publishedAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -100,6 +125,14 @@ public class BlogSummaryDto {
         this.viewCount = viewCount;
     }
     
+    public Long getUniqueViews() {
+        return uniqueViews;
+    }
+    
+    public void setUniqueViews(Long uniqueViews) {
+        this.uniqueViews = uniqueViews;
+    }
+    
     public Boolean getIsFeatured() {
         return isFeatured;
     }
@@ -123,4 +156,12 @@ public class BlogSummaryDto {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
 }
@@ -0,0 +1,26 @@
+package com.irku.blog.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Views of one blog over a time range, one point per hour or day including empty ones.
+ * Counts are as of the last view count flush.
+ *
+ * @param blogId      the blog
+ * @param granularity "hour" or "day"
+ * @param from        start of the first point
+ * @param to          end of the last point (exclusive)
+ * @param total       views over the whole range
+ * @param points      views per hour or day, in time order
+ */
+public record BlogViewSeries(Long blogId,
+                             String granularity,
+                             LocalDateTime from,
+                             LocalDateTime to,
+                             long total,
+                             List<Point> points) {
+
+    public record Point(LocalDateTime start, long views) {
+    }
+}
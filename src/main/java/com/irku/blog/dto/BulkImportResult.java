@@ -0,0 +1,27 @@
+package com.irku.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk import, written as one NDJSON line per input item.
+ *
+ * @param index position of the item in the request, starting at 0
+ * @param id    id of the created blog, null if the item was rejected
+ * @param slug  slug allocated to the created blog, null if the item was rejected
+ * @param error why the item was rejected, null if it was created
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkImportResult(int index, Long id, String slug, String error) {
+
+    public static BulkImportResult created(int index, Long id, String slug) {
+        return new BulkImportResult(index, id, slug, null);
+    }
+
+    public static BulkImportResult failed(int index, String error) {
+        return new BulkImportResult(index, null, null, error);
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.irku.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated result.
+ * Pass nextCursor back as the cursor parameter to fetch the following slice.
+ *
+ * @param content       items of this slice
+ * @param nextCursor    opaque token for the next slice, null on the last slice
+ * @param hasNext       whether another slice exists
+ * @param totalElements total number of matches, only computed when requested
+ */
+public record CursorPage<T>(List<T> content,
+                            String nextCursor,
+                            boolean hasNext,
+                            @JsonInclude(JsonInclude.Include.NON_NULL) Long totalElements) {
+}
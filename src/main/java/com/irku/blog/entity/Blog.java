@@ -48,6 +48,10 @@ public class Blog {
     @Column(name = "view_count")
     private Long viewCount = 0L;
     
+    // Maintained by UniqueViewCounter with bulk updates, never written from the entity
+    @Column(name = "unique_views", insertable = false, updatable = false)
+    private Long uniqueViews = 0L;
+    
     @Column(name = "is_featured")
     private Boolean isFeatured = false;
     
@@ -86,8 +90,11 @@ public class Blog {
     }
     
     public void setTitle(String title) {
+        // Only a new title gets a new slug, so an unchanged title keeps its allocated suffix
+        if (this.slug == null || !Objects.equals(this.title, title)) {
+            this.slug = generateSlug(title);
+        }
         this.title = title;
-        this.slug = generateSlug(title);
     }
     
     public String getContent() {
@@ -149,6 +156,14 @@ public class Blog {
         this.viewCount = viewCount;
     }
     
+    public Long getUniqueViews() {
+        return uniqueViews;
+    }
+    
+    public void setUniqueViews(Long uniqueViews) {
+        this.uniqueViews = uniqueViews;
+    }
+    
     public Boolean getIsFeatured() {
         return isFeatured;
     }
@@ -183,11 +198,7 @@ public class Blog {
     
     // Helper methods
     public String generateSlug(String title) {
-        if (title == null) return null;
-        return title.toLowerCase()
-                .replaceAll("[^a-z0-9\\s]", "")
-                .replaceAll("\\s+", "-")
-                .trim();
+        return Slugifier.slugify(title);
     }
     
     public void incrementViewCount() {
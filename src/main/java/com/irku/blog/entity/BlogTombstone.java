@@ -0,0 +1,76 @@
+package com.irku.blog.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Marker left behind by a deleted blog so delta sync clients can drop their copy.
+ * Rows are written by a database trigger on delete and purged after a retention period.
+ */
+@Entity
+@Table(name = "blog_tombstones")
+public class BlogTombstone {
+
+    @Id
+    @Column(name = "blog_id")
+    private Long blogId;
+
+    @Column(name = "slug")
+    private String slug;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public BlogTombstone() {}
+
+    // Getters and Setters
+    public Long getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(Long blogId) {
+        this.blogId = blogId;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    // Equals and HashCode
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BlogTombstone that = (BlogTombstone) o;
+        return Objects.equals(blogId, that.blogId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(blogId);
+    }
+
+    @Override
+    public String toString() {
+        return "BlogTombstone{" +
+                "blogId=" + blogId +
+                ", slug='" + slug + '\'' +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+}
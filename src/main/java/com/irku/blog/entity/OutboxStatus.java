@@ -0,0 +1,7 @@
+package com.irku.blog.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,200 @@
+package com.irku.blog.entity;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Turns blog titles into URL slugs and picks a free variant when a slug is already taken.
+ * ASCII titles give the same slug as the earlier regex implementation (lowercase, punctuation
+ * dropped, each whitespace run turned into a dash, leading and trailing ones included), except
+ * that a title with nothing left gets {@link #FALLBACK} instead of an empty slug.
+ * Other titles are decomposed first: accents on Latin letters are stripped and common ligatures
+ * and Cyrillic letters spelled out in ASCII, while letters and digits of other scripts (e.g. CJK)
+ * are kept as they are.
+ */
+public final class Slugifier {
+
+    // Used when a title has no characters that survive transliteration
+    public static final String FALLBACK = "post";
+
+    private Slugifier() {
+    }
+
+    // Lowercase letters and digits, with each run of whitespace turned into a single dash
+    public static String slugify(String title) {
+        if (title == null) {
+            return null;
+        }
+        boolean ascii = isAscii(title);
+        String text = ascii ? title : Normalizer.normalize(title, Normalizer.Form.NFKD);
+        StringBuilder slug = new StringBuilder(text.length());
+        boolean separator = false;
+        // Whether the last character was kept as is, so combining marks that follow belong to it
+        boolean kept = false;
+        for (int i = 0; i < text.length(); ) {
+            int c = text.codePointAt(i);
+            i += Character.charCount(c);
+            if (c < 128) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                    separator = append(slug, c, separator);
+                } else if (isRegexWhitespace(c)) {
+                    separator = true;
+                }
+                // Other punctuation is dropped without separating words
+                kept = false;
+            } else if (isCombiningMark(c)) {
+                // Accents of transliterated letters are dropped; marks of kept letters are part of them
+                if (kept) {
+                    slug.appendCodePoint(c);
+                }
+            } else if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                separator = true;
+                kept = false;
+            } else {
+                int lower = Character.toLowerCase(c);
+                String latin = transliterate(lower);
+                if (latin != null) {
+                    for (int j = 0; j < latin.length(); j++) {
+                        separator = append(slug, latin.charAt(j), separator);
+                    }
+                    kept = false;
+                } else if (Character.isLetterOrDigit(lower)) {
+                    separator = append(slug, lower, separator);
+                    kept = true;
+                } else {
+                    // Symbols such as emoji are dropped like punctuation
+                    kept = false;
+                }
+            }
+        }
+        if (separator) {
+            slug.append('-');
+        }
+        if (slug.isEmpty()) {
+            return FALLBACK;
+        }
+        // Recompose what was kept, e.g. Hangul syllables or kana with voicing marks
+        return ascii ? slug.toString() : Normalizer.normalize(slug, Normalizer.Form.NFC);
+    }
+
+    // First of base, base-1, base-2, ... that is not in taken; taken may hold unrelated slugs
+    public static String firstAvailable(String base, Collection<String> taken) {
+        boolean baseTaken = false;
+        Set<Integer> suffixes = new HashSet<>();
+        for (String slug : taken) {
+            if (slug.equals(base)) {
+                baseTaken = true;
+            } else if (slug.length() > base.length() + 1 && slug.startsWith(base)
+                    && slug.charAt(base.length()) == '-') {
+                int suffix = parseSuffix(slug, base.length() + 1);
+                if (suffix > 0) {
+                    suffixes.add(suffix);
+                }
+            }
+        }
+        if (!baseTaken) {
+            return base;
+        }
+        int counter = 1;
+        while (suffixes.contains(counter)) {
+            counter++;
+        }
+        return base + "-" + counter;
+    }
+
+    private static boolean append(StringBuilder slug, int c, boolean separator) {
+        if (separator) {
+            slug.append('-');
+        }
+        slug.appendCodePoint(c);
+        return false;
+    }
+
+    // The characters \s matches in a Java regex, which the regex implementation split words on
+    private static boolean isRegexWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static boolean isCombiningMark(int c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ASCII spelling of a lowercase letter that has no decomposition; empty if it should be dropped,
+    // null if it is kept as is. Cyrillic letters with diacritics (й, ё, ї) are reduced to these first
+    private static String transliterate(int c) {
+        return switch (c) {
+            case 'ß' -> "ss";
+            case 'æ' -> "ae";
+            case 'œ' -> "oe";
+            case 'ø' -> "o";
+            case 'đ', 'ð' -> "d";
+            case 'þ' -> "th";
+            case 'ł' -> "l";
+            case 'ı' -> "i";
+            case 'а' -> "a";
+            case 'б' -> "b";
+            case 'в' -> "v";
+            case 'г' -> "g";
+            case 'д' -> "d";
+            case 'е', 'э' -> "e";
+            case 'ж' -> "zh";
+            case 'з' -> "z";
+            case 'и', 'і' -> "i";
+            case 'к' -> "k";
+            case 'л' -> "l";
+            case 'м' -> "m";
+            case 'н' -> "n";
+            case 'о' -> "o";
+            case 'п' -> "p";
+            case 'р' -> "r";
+            case 'с' -> "s";
+            case 'т' -> "t";
+            case 'у' -> "u";
+            case 'ф' -> "f";
+            case 'х' -> "kh";
+            case 'ц' -> "ts";
+            case 'ч' -> "ch";
+            case 'ш' -> "sh";
+            case 'щ' -> "shch";
+            case 'ы' -> "y";
+            case 'ю' -> "yu";
+            case 'я' -> "ya";
+            case 'є' -> "ye";
+            case 'ґ' -> "g";
+            case 'ъ', 'ь' -> "";
+            default -> null;
+        };
+    }
+
+    // Positive number at offset up to the end of the slug, or -1 if it is not all digits
+    private static int parseSuffix(String slug, int offset) {
+        if (slug.length() - offset > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = offset; i < slug.length(); i++) {
+            char c = slug.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -1,29 +1,88 @@
 package com.irku.blog.repository;
 
+import com.irku.blog.dto.BlogSummaryDto;
 import com.irku.blog.entity.Blog;
 import com.irku.blog.entity.BlogStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BlogRepository extends JpaRepository<Blog, Long> {
 
-    // Find published blogs
-    List<Blog> findByStatusOrderByPublishedAtDesc(BlogStatus status);
+    // Constructor expression selecting only the summary columns (never the content)
+    String SUMMARY = "new com.irku.blog.dto.BlogSummaryDto(b.id, b.title, b.excerpt, b.author, " +
+            "b.featuredImageUrl, b.slug, b.status, b.viewCount, b.uniqueViews, b.isFeatured, b.publishedAt, " +
+            "b.updatedAt)";
 
-    // Find published blogs with pagination
-    Page<Blog> findByStatusOrderByPublishedAtDesc(BlogStatus status, Pageable pageable);
+    // Summaries of all blogs (any status)
+    @Query("SELECT " + SUMMARY + " FROM Blog b")
+    List<BlogSummaryDto> findAllSummaries();
 
-    // Find featured blogs
-    List<Blog> findByIsFeaturedTrueAndStatusOrderByPublishedAtDesc(BlogStatus status);
+    // Full blogs in id order, read through a forward-only cursor; status null means any status.
+    // Must be consumed inside a transaction and closed; entities are read-only and should be detached
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Blog b WHERE (:status IS NULL OR b.status = :status) ORDER BY b.id")
+    Stream<Blog> streamAll(@Param("status") BlogStatus status);
+
+    // Summaries of blogs by status, newest first
+    @Query("SELECT " + SUMMARY + " FROM Blog b WHERE b.status = :status ORDER BY b.publishedAt DESC")
+    List<BlogSummaryDto> findSummariesByStatus(@Param("status") BlogStatus status);
+
+    // Summaries of blogs by status with pagination, newest first
+    @Query(value = "SELECT " + SUMMARY + " FROM Blog b WHERE b.status = :status ORDER BY b.publishedAt DESC",
+           countQuery = "SELECT COUNT(b) FROM Blog b WHERE b.status = :status")
+    Page<BlogSummaryDto> findSummariesByStatus(@Param("status") BlogStatus status, Pageable pageable);
+
+    // First keyset slice of blogs by status, newest first with id as tie-breaker
+    @Query("SELECT " + SUMMARY + " FROM Blog b WHERE b.status = :status " +
+           "ORDER BY b.publishedAt DESC, b.id DESC")
+    List<BlogSummaryDto> findSummarySlice(@Param("status") BlogStatus status, Pageable pageable);
+
+    // Next keyset slice of blogs by status, strictly after the given (publishedAt, id);
+    // the leading publishedAt <= bound lets SQLite seek into the (status, published_at, id) index
+    @Query("SELECT " + SUMMARY + " FROM Blog b WHERE b.status = :status AND b.publishedAt <= :publishedAt AND " +
+           "(b.publishedAt < :publishedAt OR b.id < :id) " +
+           "ORDER BY b.publishedAt DESC, b.id DESC")
+    List<BlogSummaryDto> findSummarySliceAfter(@Param("status") BlogStatus status,
+                                               @Param("publishedAt") LocalDateTime publishedAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    // First slice of the change timeline: full blogs (any status) in (updatedAt, id) order
+    @Query("SELECT b FROM Blog b ORDER BY b.updatedAt, b.id")
+    List<Blog> findChangedSlice(Pageable pageable);
+
+    // Next slice of the change timeline, strictly after the given (updatedAt, id);
+    // the leading updatedAt >= bound lets SQLite seek into the (updated_at, id) index
+    @Query("SELECT b FROM Blog b WHERE b.updatedAt >= :updatedAt AND " +
+           "(b.updatedAt > :updatedAt OR b.id > :id) " +
+           "ORDER BY b.updatedAt, b.id")
+    List<Blog> findChangedSliceAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    // Summaries of featured blogs, newest first
+    @Query("SELECT " + SUMMARY + " FROM Blog b WHERE b.isFeatured = true AND b.status = :status " +
+           "ORDER BY b.publishedAt DESC")
+    List<BlogSummaryDto> findFeaturedSummaries(@Param("status") BlogStatus status);
 
     // Find blog by slug
     Optional<Blog> findBySlugAndStatus(String slug, BlogStatus status);
@@ -31,37 +90,50 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
     // Find the blog by slug (any status)
     Optional<Blog> findBySlug(String slug);
 
-    // Search blogs by title or content
-    @Query("SELECT b FROM Blog b WHERE b.status = :status AND " +
-           "(LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(b.content) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(b.excerpt) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-           "ORDER BY b.publishedAt DESC")
-    Page<Blog> searchPublishedBlogs(@Param("searchTerm") String searchTerm,
-                                   @Param("status") BlogStatus status,
-                                   Pageable pageable);
+    // Find the id of a blog by slug and status without loading the entity
+    @Query("SELECT b.id FROM Blog b WHERE b.slug = :slug AND b.status = :status")
+    Optional<Long> findIdBySlugAndStatus(@Param("slug") String slug, @Param("status") BlogStatus status);
 
-    // Find recent blogs
-    @Query("SELECT b FROM Blog b WHERE b.status = :status AND b.publishedAt >= :since " +
+    // Summaries of recent blogs
+    @Query("SELECT " + SUMMARY + " FROM Blog b WHERE b.status = :status AND b.publishedAt >= :since " +
            "ORDER BY b.publishedAt DESC")
-    List<Blog> findRecentBlogs(@Param("status") BlogStatus status,
-                              @Param("since") LocalDateTime since,
-                              Pageable pageable);
+    List<BlogSummaryDto> findRecentSummaries(@Param("status") BlogStatus status,
+                                             @Param("since") LocalDateTime since,
+                                             Pageable pageable);
 
     // Count blogs by status
     long countByStatus(BlogStatus status);
 
-    // Find blogs with view count above a threshold
-    @Query("SELECT b FROM Blog b WHERE b.status = :status AND b.viewCount >= :minViews " +
-           "ORDER BY b.viewCount DESC")
-    List<Blog> findPopularBlogs(@Param("status") BlogStatus status,
-                               @Param("minViews") Long minViews,
-                               Pageable pageable);
+    // Blog counts and summed view counts per status and author, for seeding statistics
+    @Query("SELECT b.status, b.author, COUNT(b), COALESCE(SUM(b.viewCount), 0) FROM Blog b " +
+           "GROUP BY b.status, b.author")
+    List<Object[]> aggregateByStatusAndAuthor();
+
+    // Published blog counts per publish month (yyyy-MM); published_at is stored as epoch millis
+    @Query(value = "SELECT strftime('%Y-%m', published_at / 1000, 'unixepoch', 'localtime') AS month, COUNT(*) " +
+                   "FROM blogs WHERE status = 'PUBLISHED' AND published_at IS NOT NULL GROUP BY month",
+           nativeQuery = true)
+    List<Object[]> countPublishedByMonth();
+
+    // Id and view count of every blog with the status, answered from the (status, view_count) index
+    @Query("SELECT b.id, b.viewCount FROM Blog b WHERE b.status = :status")
+    List<Object[]> findViewCounts(@Param("status") BlogStatus status);
+
+    // Summaries of the given blogs, in no particular order
+    @Query("SELECT " + SUMMARY + " FROM Blog b WHERE b.id IN :ids")
+    List<BlogSummaryDto> findSummariesByIds(@Param("ids") Collection<Long> ids);
 
-    // Check if slug exists (excluding current blog)
-    @Query("SELECT COUNT(b) > 0 FROM Blog b WHERE b.slug = :slug AND b.id != :id")
-    boolean existsBySlugAndIdNot(@Param("slug") String slug, @Param("id") Long id);
+    // Add buffered views to the persisted view count
+    @Modifying
+    @Query("UPDATE Blog b SET b.viewCount = COALESCE(b.viewCount, 0) + :delta WHERE b.id = :id")
+    int addViews(@Param("id") Long id, @Param("delta") Long delta);
 
-    // Check if a slug exists
-    boolean existsBySlug(String slug);
+    // Base itself and its numbered variants base-<digits>, but not other slugs that merely start with
+    // base-, e.g. base-2024-review. Both are range lookups on the unique slug index; ':' sorts right
+    // after '9', and GLOB drops suffixes with a non-digit. Slugs never contain GLOB wildcards.
+    // excludeId leaves out the blog being renamed
+    @Query(value = "SELECT slug FROM blogs WHERE (slug = :base OR (slug >= :base || '-0' AND slug < :base || '-:' " +
+                   "AND slug NOT GLOB :base || '-*[^0-9]*')) AND (:excludeId IS NULL OR id <> :excludeId)",
+           nativeQuery = true)
+    List<String> findSlugVariants(@Param("base") String base, @Param("excludeId") Long excludeId);
 }
@@ -0,0 +1,161 @@
+package com.irku.blog.repository;
+
+import com.irku.blog.dto.BlogSummaryDto;
+import com.irku.blog.entity.BlogStatus;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text search over the blogs_fts FTS5 index (created by migration V3).
+ * Results are ranked by BM25 with title matches weighted above excerpt and content
+ * matches, and carry a highlighted snippet of the best matching column.
+ */
+@Repository
+@Timed(value = "blog.search.queries", description = "Full-text search query latency", histogram = true)
+public class BlogSearchRepository {
+
+    // BM25 column weights for title, content and excerpt
+    static final String RANK = "bm25(blogs_fts, 10.0, 1.0, 5.0)";
+
+    static final String MATCHES =
+            "SELECT b.id, b.title, b.excerpt, b.author, b.featured_image_url, b.slug, b.status, " +
+            "b.view_count, b.unique_views, b.is_featured, b.published_at, b.updated_at, " +
+            "snippet(blogs_fts, -1, '<mark>', '</mark>', '…', 32) AS snippet, " + RANK + " AS score " +
+            "FROM blogs_fts JOIN blogs b ON b.id = blogs_fts.rowid " +
+            "WHERE blogs_fts MATCH ? AND b.status = ?";
+
+    static final String SEARCH_SQL = MATCHES + " ORDER BY score, b.id LIMIT ? OFFSET ?";
+
+    // Keyset variant: continue after the (score, id) of the last row already returned
+    static final String SEARCH_AFTER_SQL =
+            "SELECT * FROM (" + MATCHES + ") WHERE score > ? OR (score = ? AND id > ?) " +
+            "ORDER BY score, id LIMIT ?";
+
+    static final String COUNT_SQL =
+            "SELECT COUNT(*) FROM blogs_fts JOIN blogs b ON b.id = blogs_fts.rowid " +
+            "WHERE blogs_fts MATCH ? AND b.status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlogSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Search blogs with the given status, best matches first
+    public Page<BlogSummaryDto> search(String searchTerm, BlogStatus status, Pageable pageable) {
+        String match = toMatchExpression(searchTerm);
+        if (match.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<BlogSummaryDto> content = jdbcTemplate.query(SEARCH_SQL, SCORED_SUMMARY,
+                        match, status.name(), pageable.getPageSize(), pageable.getOffset())
+                .stream()
+                .map(ScoredSummary::summary)
+                .toList();
+        return new PageImpl<>(content, pageable, count(searchTerm, status));
+    }
+
+    /**
+     * Keyset search: up to limit matches ranked after the given position.
+     * Pass null for afterScore/afterId to start from the best match.
+     */
+    public List<ScoredSummary> searchAfter(String searchTerm, BlogStatus status,
+                                           Double afterScore, Long afterId, int limit) {
+        String match = toMatchExpression(searchTerm);
+        if (match.isEmpty()) {
+            return List.of();
+        }
+        if (afterScore == null || afterId == null) {
+            return jdbcTemplate.query(SEARCH_SQL, SCORED_SUMMARY, match, status.name(), limit, 0);
+        }
+        return jdbcTemplate.query(SEARCH_AFTER_SQL, SCORED_SUMMARY,
+                match, status.name(), afterScore, afterScore, afterId, limit);
+    }
+
+    // Number of blogs with the given status matching the search term
+    public long count(String searchTerm, BlogStatus status) {
+        String match = toMatchExpression(searchTerm);
+        if (match.isEmpty()) {
+            return 0L;
+        }
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, match, status.name());
+        return total != null ? total : 0L;
+    }
+
+    // A search result together with its BM25 score (lower is better)
+    public record ScoredSummary(BlogSummaryDto summary, double score) {
+    }
+
+    /**
+     * Turn free text into an FTS5 MATCH expression.
+     * Every word is quoted so user input can never be parsed as FTS5 syntax, words are
+     * AND-ed together and the last word is a prefix match to support search-as-you-type.
+     */
+    static String toMatchExpression(String searchTerm) {
+        if (searchTerm == null) {
+            return "";
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < searchTerm.length(); ) {
+            int cp = searchTerm.codePointAt(i);
+            if (Character.isLetterOrDigit(cp)) {
+                token.appendCodePoint(cp);
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+            i += Character.charCount(cp);
+        }
+        boolean prefixLast = !token.isEmpty();
+        if (prefixLast) {
+            tokens.add(token.toString());
+        }
+        StringBuilder match = new StringBuilder();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i > 0) {
+                match.append(' ');
+            }
+            match.append('"').append(tokens.get(i)).append('"');
+            if (prefixLast && i == tokens.size() - 1) {
+                match.append('*');
+            }
+        }
+        return match.toString();
+    }
+
+    private static final RowMapper<ScoredSummary> SCORED_SUMMARY = (rs, rowNum) -> {
+        BlogSummaryDto dto = new BlogSummaryDto(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("excerpt"),
+                rs.getString("author"),
+                rs.getString("featured_image_url"),
+                rs.getString("slug"),
+                BlogStatus.valueOf(rs.getString("status")),
+                rs.getLong("view_count"),
+                rs.getLong("unique_views"),
+                rs.getBoolean("is_featured"),
+                toLocalDateTime(rs, "published_at"),
+                toLocalDateTime(rs, "updated_at"));
+        dto.setSnippet(rs.getString("snippet"));
+        return new ScoredSummary(dto, rs.getDouble("score"));
+    };
+
+    private static LocalDateTime toLocalDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
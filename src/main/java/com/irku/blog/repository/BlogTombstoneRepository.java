@@ -0,0 +1,36 @@
+package com.irku.blog.repository;
+
+import com.irku.blog.entity.BlogTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BlogTombstoneRepository extends JpaRepository<BlogTombstone, Long> {
+
+    // First keyset slice of tombstones, oldest delete first with the blog id as tie-breaker
+    @Query("SELECT t FROM BlogTombstone t ORDER BY t.deletedAt, t.blogId")
+    List<BlogTombstone> findSlice(Pageable pageable);
+
+    // Next keyset slice of tombstones, strictly after the given (deletedAt, blogId)
+    @Query("SELECT t FROM BlogTombstone t WHERE t.deletedAt >= :deletedAt AND " +
+           "(t.deletedAt > :deletedAt OR t.blogId > :blogId) " +
+           "ORDER BY t.deletedAt, t.blogId")
+    List<BlogTombstone> findSliceAfter(@Param("deletedAt") LocalDateTime deletedAt,
+                                       @Param("blogId") Long blogId,
+                                       Pageable pageable);
+
+    // Most recent tombstone, where a client that starts from the full catalog picks up deletes
+    Optional<BlogTombstone> findFirstByOrderByDeletedAtDescBlogIdDesc();
+
+    @Modifying
+    @Query("DELETE FROM BlogTombstone t WHERE t.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,72 @@
+package com.irku.blog.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hourly view counts of blogs in blog_view_buckets (created by migration V7).
+ * Hours are counted from 1970-01-01 UTC; rolled-up days are stored at their first hour.
+ */
+@Repository
+public class BlogViewBucketRepository {
+
+    private static final String ADD_SQL =
+            "INSERT INTO blog_view_buckets (blog_id, hour, views) VALUES (?, ?, ?) " +
+            "ON CONFLICT (blog_id, hour) DO UPDATE SET views = views + excluded.views";
+
+    // First whole hour of the local day the row's hour starts in, using the same 'localtime'
+    // conversion as BlogRepository.countPublishedByMonth
+    private static final String DAY_START =
+            "(CAST(strftime('%s', date(hour * 3600, 'unixepoch', 'localtime'), 'utc') AS INTEGER) + 3599) / 3600";
+
+    private static final RowMapper<Bucket> BUCKET = (rs, rowNum) ->
+            new Bucket(rs.getLong("blog_id"), rs.getLong("hour"), rs.getLong("views"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlogViewBucketRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Add views to the buckets, creating the ones that do not exist yet
+    public void addViews(Collection<Bucket> buckets) {
+        List<Object[]> rows = new ArrayList<>(buckets.size());
+        buckets.forEach(bucket -> rows.add(new Object[]{bucket.blogId(), bucket.hour(), bucket.views()}));
+        jdbcTemplate.batchUpdate(ADD_SQL, rows);
+    }
+
+    // Buckets of one blog from fromHour up to (not including) toHour, in hour order; a range scan on the key
+    public List<Bucket> findRange(Long blogId, long fromHour, long toHour) {
+        return jdbcTemplate.query("SELECT blog_id, hour, views FROM blog_view_buckets " +
+                "WHERE blog_id = ? AND hour >= ? AND hour < ? ORDER BY hour", BUCKET, blogId, fromHour, toHour);
+    }
+
+    // Buckets of all blogs from the given hour on
+    public List<Bucket> findSince(long fromHour) {
+        return jdbcTemplate.query("SELECT blog_id, hour, views FROM blog_view_buckets WHERE hour >= ?",
+                BUCKET, fromHour);
+    }
+
+    /**
+     * Replace the hourly buckets from fromHour up to (not including) toHour with one bucket per blog and
+     * local day. Both bounds should be the first hour of a day. Days already rolled up are left as they are.
+     *
+     * @return the number of buckets removed
+     */
+    public int rollUp(long fromHour, long toHour) {
+        jdbcTemplate.update("INSERT INTO blog_view_buckets (blog_id, hour, views) " +
+                "SELECT blog_id, " + DAY_START + " AS day_hour, SUM(views) FROM blog_view_buckets " +
+                "WHERE hour >= ? AND hour < ? GROUP BY blog_id, day_hour " +
+                "ON CONFLICT (blog_id, hour) DO UPDATE SET views = excluded.views", fromHour, toHour);
+        return jdbcTemplate.update("DELETE FROM blog_view_buckets WHERE hour >= ? AND hour < ? AND hour <> " +
+                DAY_START, fromHour, toHour);
+    }
+
+    public record Bucket(long blogId, long hour, long views) {
+    }
+}
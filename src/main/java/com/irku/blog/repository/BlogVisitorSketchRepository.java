@@ -0,0 +1,81 @@
+package com.irku.blog.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily visitor sketches of blogs in blog_visitor_sketches and the blogs.unique_views total derived
+ * from them (created by migration V6). Sketches are opaque bytes here; see HyperLogLog for the format.
+ */
+@Repository
+public class BlogVisitorSketchRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO blog_visitor_sketches (blog_id, day, sketch) VALUES (?, ?, ?) " +
+            "ON CONFLICT (blog_id, day) DO UPDATE SET sketch = excluded.sketch";
+
+    // Stays well below SQLite's bound parameter limit
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlogVisitorSketchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stored state of the given blogs for one day, by blog id.
+     * Blogs that no longer exist are left out; sketch is null for a blog without visitors that day.
+     */
+    public Map<Long, Stored> find(long day, Collection<Long> blogIds) {
+        Map<Long, Stored> stored = new HashMap<>();
+        List<Long> ids = new ArrayList<>(blogIds);
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(day);
+            args.addAll(chunk);
+            jdbcTemplate.query("SELECT b.id, b.unique_views, s.sketch FROM blogs b " +
+                            "LEFT JOIN blog_visitor_sketches s ON s.blog_id = b.id AND s.day = ? " +
+                            "WHERE b.id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                    rs -> {
+                        stored.put(rs.getLong(1), new Stored(rs.getLong(2), rs.getBytes(3)));
+                    },
+                    args.toArray());
+        }
+        return stored;
+    }
+
+    // Insert or replace the sketches of the given blogs for one day
+    public void saveSketches(long day, Map<Long, byte[]> sketches) {
+        List<Object[]> rows = new ArrayList<>(sketches.size());
+        sketches.forEach((blogId, sketch) -> rows.add(new Object[]{blogId, day, sketch}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    // Set blogs.unique_views of the given blogs
+    public void saveUniqueViews(Map<Long, Long> uniqueViews) {
+        List<Object[]> rows = new ArrayList<>(uniqueViews.size());
+        uniqueViews.forEach((blogId, count) -> rows.add(new Object[]{count, blogId}));
+        jdbcTemplate.batchUpdate("UPDATE blogs SET unique_views = ? WHERE id = ?", rows);
+    }
+
+    // Remove sketches of days before the given one
+    public int deleteBefore(long day) {
+        return jdbcTemplate.update("DELETE FROM blog_visitor_sketches WHERE day < ?", day);
+    }
+
+    /**
+     * @param uniqueViews current blogs.unique_views
+     * @param sketch      serialized sketch of the day, or null
+     */
+    public record Stored(long uniqueViews, byte[] sketch) {
+    }
+}
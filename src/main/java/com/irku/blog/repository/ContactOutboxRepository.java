@@ -0,0 +1,36 @@
+package com.irku.blog.repository;
+
+import com.irku.blog.entity.ContactOutboxMessage;
+import com.irku.blog.entity.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ContactOutboxRepository extends JpaRepository<ContactOutboxMessage, Long> {
+
+    // Oldest messages that are due for a delivery attempt
+    @Query("SELECT m FROM ContactOutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<ContactOutboxMessage> findDue(@Param("status") OutboxStatus status,
+                                       @Param("now") LocalDateTime now,
+                                       Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    // Write back the outcome of a delivery attempt without reading the row first
+    @Modifying
+    @Query("UPDATE ContactOutboxMessage m SET m.status = :#{#message.status}, m.attempts = :#{#message.attempts}, " +
+            "m.nextAttemptAt = :#{#message.nextAttemptAt}, m.lastError = :#{#message.lastError}, " +
+            "m.sentAt = :#{#message.sentAt} WHERE m.id = :#{#message.id}")
+    int saveDeliveryState(@Param("message") ContactOutboxMessage message);
+
+    @Modifying
+    @Query("DELETE FROM ContactOutboxMessage m WHERE m.status = :status AND m.sentAt < :before")
+    int deleteSentBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
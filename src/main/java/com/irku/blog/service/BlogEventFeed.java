@@ -0,0 +1,213 @@
+package com.irku.blog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.irku.blog.dto.BlogEvent;
+import com.irku.blog.entity.BlogStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed blog mutations to Server-Sent Events subscribers.
+ * The last events are kept in a ring buffer, so a client that reconnects with Last-Event-ID gets
+ * what it missed; a client too far behind gets a reset event and should reload instead.
+ * Idle subscribers are parked async requests and hold no thread. Delivery runs on virtual threads,
+ * one drain at a time per subscriber, so a slow client never holds up the writer or other clients;
+ * one that falls too far behind is disconnected and catches up from the buffer on reconnect.
+ */
+@Component
+public class BlogEventFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogEventFeed.class);
+
+    private final ObjectMapper objectMapper;
+    private final BlogEvent[] ring;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("keepalive").build();
+    private final Set<DataWithMediaType> hello;
+    private final int maxSubscribers;
+    private final int maxPending;
+    private final long timeoutMs;
+
+    // Seeded from the startup time so ids issued by a previous process are recognised as unknown
+    private final long firstId = System.currentTimeMillis();
+    private long nextId = firstId;
+
+    public BlogEventFeed(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${blog.events.buffer-size:1024}") int bufferSize,
+                         @Value("${blog.events.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${blog.events.max-pending:2048}") int maxPending,
+                         @Value("${blog.events.timeout-ms:1800000}") long timeoutMs,
+                         @Value("${blog.events.retry-ms:3000}") long retryMs) {
+        this.objectMapper = objectMapper;
+        this.ring = new BlogEvent[bufferSize];
+        this.maxSubscribers = maxSubscribers;
+        // A full replay must fit, or a resuming client would be dropped before it catches up
+        this.maxPending = Math.max(maxPending, bufferSize + 2);
+        this.timeoutMs = timeoutMs;
+        this.hello = SseEmitter.event().reconnectTime(retryMs).comment("connected").build();
+        Gauge.builder("blog.events.subscribers", subscribers, Set::size)
+                .description("Open blog change feed connections")
+                .register(meterRegistry);
+    }
+
+    // Record a committed mutation and queue it for every subscriber
+    public void publish(BlogEvent.Type type, Long blogId, String slug, String title, BlogStatus status) {
+        synchronized (this) {
+            BlogEvent event = new BlogEvent(nextId++, type, blogId, slug, title, status, LocalDateTime.now());
+            ring[(int) (event.id() % ring.length)] = event;
+            if (subscribers.isEmpty()) {
+                return;
+            }
+            Set<DataWithMediaType> frame = frame(event);
+            subscribers.forEach(subscriber -> subscriber.enqueue(frame));
+        }
+    }
+
+    /**
+     * Open a subscription, replaying the buffered events after lastEventId first.
+     *
+     * @param lastEventId id of the last event the client saw, or null to only get new events
+     * @return the emitter to return from the controller
+     * @throws RejectedExecutionException if the subscriber limit is reached
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Too many change feed subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Replay and registration happen under the publish lock, so no event is missed or sent twice.
+        // The first frame also commits the response, so the client sees the stream open even when idle
+        synchronized (this) {
+            subscriber.enqueue(hello);
+            if (lastEventId != null) {
+                long oldest = Math.max(firstId, nextId - ring.length);
+                if (lastEventId < oldest - 1 || lastEventId >= nextId) {
+                    // Carries the current id, so reconnecting after the reset does not reset again
+                    subscriber.enqueue(SseEmitter.event().id(Long.toString(nextId - 1)).name("reset")
+                            .data("{}", MediaType.APPLICATION_JSON).build());
+                } else {
+                    for (long id = lastEventId + 1; id < nextId; id++) {
+                        subscriber.enqueue(frame(ring[(int) (id % ring.length)]));
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    // Keeps idle connections open through proxies and notices clients that went away
+    @Scheduled(fixedDelayString = "${blog.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.enqueue(heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        delivery.shutdown();
+    }
+
+    // Serialized once per event and shared by all subscribers
+    private Set<DataWithMediaType> frame(BlogEvent event) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(event.id()))
+                    .name(event.type().name().toLowerCase(Locale.ROOT))
+                    .data(objectMapper.writeValueAsString(event), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (size.incrementAndGet() > maxPending) {
+                log.debug("Dropping change feed subscriber that is {} events behind", maxPending);
+                close();
+                return;
+            }
+            pending.add(frame);
+            if (draining.compareAndSet(false, true)) {
+                delivery.execute(this);
+            }
+        }
+
+        // Send everything pending; only one drain runs per subscriber, so events stay in order
+        @Override
+        public void run() {
+            do {
+                Set<DataWithMediaType> frame;
+                while (!closed && (frame = pending.poll()) != null) {
+                    size.decrementAndGet();
+                    try {
+                        emitter.send(frame);
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; the container completes the request
+                        closed = true;
+                        subscribers.remove(this);
+                    }
+                }
+                draining.set(false);
+            } while (!closed && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        // Completing waits for a send in progress, so it never runs on the publishing thread
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            pending.clear();
+            try {
+                delivery.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.irku.blog.service;
+
+import com.irku.blog.dto.BlogDto;
+import com.irku.blog.dto.BlogSummaryDto;
+import com.irku.blog.dto.BulkImportResult;
+import com.irku.blog.entity.BlogStatus;
+import com.irku.blog.entity.Slugifier;
+import com.irku.blog.repository.BlogRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Inserts a chunk of blogs for a bulk import.
+ * Duplicate titles and excerpts are detected for the whole chunk with set-based queries, and slugs
+ * are allocated from one slug-index lookup per distinct base (the same query single creates use),
+ * then the rows are written with one JDBC batch instead of an entity insert per blog.
+ * Must run inside the writer's transaction.
+ */
+@Component
+public class BlogImporter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO blogs (title, content, excerpt, author, featured_image_url, slug, status, " +
+            "view_count, is_featured, created_at, updated_at, published_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DEFAULT_AUTHOR = "Mukesh Joshi";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlogRepository blogRepository;
+
+    public BlogImporter(JdbcTemplate jdbcTemplate, BlogRepository blogRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blogRepository = blogRepository;
+    }
+
+    /**
+     * Insert the blogs that pass validation and report every item.
+     *
+     * @param firstIndex request position of the first blog, used in the results
+     * @param blogs      blogs to insert
+     * @return one result per blog in input order, plus stats entries for the inserted ones
+     */
+    public Imported importChunk(int firstIndex, List<BlogDto> blogs) {
+        BulkImportResult[] results = new BulkImportResult[blogs.size()];
+
+        for (int i = 0; i < blogs.size(); i++) {
+            String error = validate(blogs.get(i));
+            if (error != null) {
+                results[i] = BulkImportResult.failed(firstIndex + i, error);
+            }
+        }
+
+        // Titles and excerpts are unique; reject clashes up front so one bad row cannot fail the batch
+        Set<String> takenTitles = existing("title", values(blogs, results, BlogDto::getTitle));
+        Set<String> takenExcerpts = existing("excerpt", values(blogs, results, BlogDto::getExcerpt));
+        for (int i = 0; i < blogs.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            BlogDto blog = blogs.get(i);
+            if (!takenTitles.add(blog.getTitle())) {
+                results[i] = BulkImportResult.failed(firstIndex + i, "A blog with this title already exists");
+            } else if (blog.getExcerpt() != null && !takenExcerpts.add(blog.getExcerpt())) {
+                results[i] = BulkImportResult.failed(firstIndex + i, "A blog with this excerpt already exists");
+            }
+        }
+
+        // Allocate slugs in memory against everything already taken, including earlier rows of this chunk
+        Map<Integer, String> slugs = new HashMap<>();
+        Map<Integer, String> bases = new HashMap<>();
+        for (int i = 0; i < blogs.size(); i++) {
+            if (results[i] == null) {
+                bases.put(i, Slugifier.slugify(blogs.get(i).getTitle()));
+            }
+        }
+        NavigableSet<String> takenSlugs = existingSlugs(new HashSet<>(bases.values()));
+        List<Object[]> rows = new ArrayList<>(bases.size());
+        List<BlogStatsTracker.Entry> created = new ArrayList<>(bases.size());
+        Map<Integer, Object[]> rowsByIndex = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < blogs.size(); i++) {
+            String base = bases.get(i);
+            if (base == null) {
+                continue;
+            }
+            String slug = Slugifier.firstAvailable(base, takenSlugs.subSet(base, true, base + ".", false));
+            takenSlugs.add(slug);
+            slugs.put(i, slug);
+            Object[] row = row(blogs.get(i), slug, now);
+            rows.add(row);
+            rowsByIndex.put(i, row);
+            created.add(statsEntry(row));
+        }
+
+        List<BlogSummaryDto> summaries = new ArrayList<>(rows.size());
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            Map<String, Long> ids = idsBySlug(slugs.values());
+            slugs.forEach((i, slug) -> results[i] = BulkImportResult.created(firstIndex + i, ids.get(slug), slug));
+            rowsByIndex.forEach((i, row) -> summaries.add(summary(ids.get(slugs.get(i)), row)));
+        }
+        return new Imported(List.of(results), created, summaries);
+    }
+
+    private static String validate(BlogDto blog) {
+        if (blog == null) {
+            return "Item is empty";
+        }
+        if (blog.getTitle() == null || blog.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (blog.getContent() == null) {
+            return "Content is required";
+        }
+        return null;
+    }
+
+    private static Object[] row(BlogDto blog, String slug, Timestamp now) {
+        BlogStatus status = blog.getStatus() != null ? blog.getStatus() : BlogStatus.DRAFT;
+        // Keep the original creation and publish dates when migrating content; fall back to now like createBlog does
+        Timestamp createdAt = blog.getCreatedAt() != null ? Timestamp.valueOf(blog.getCreatedAt()) : now;
+        Timestamp publishedAt = blog.getPublishedAt() != null ? Timestamp.valueOf(blog.getPublishedAt())
+                : status == BlogStatus.PUBLISHED ? now : null;
+        return new Object[]{
+                blog.getTitle(),
+                blog.getContent(),
+                blog.getExcerpt(),
+                blog.getAuthor() != null ? blog.getAuthor() : DEFAULT_AUTHOR,
+                blog.getFeaturedImageUrl(),
+                slug,
+                status.name(),
+                blog.getViewCount() != null ? blog.getViewCount() : 0L,
+                blog.getIsFeatured() != null ? blog.getIsFeatured() : false,
+                createdAt,
+                // Always the import time, so delta sync clients past the supplied date still see the blog
+                now,
+                publishedAt
+        };
+    }
+
+    private static BlogStatsTracker.Entry statsEntry(Object[] row) {
+        Timestamp publishedAt = (Timestamp) row[11];
+        return new BlogStatsTracker.Entry(BlogStatus.valueOf((String) row[6]), (String) row[3],
+                publishedAt != null ? publishedAt.toLocalDateTime() : null, (Long) row[7]);
+    }
+
+    private static BlogSummaryDto summary(Long id, Object[] row) {
+        Timestamp updatedAt = (Timestamp) row[10];
+        Timestamp publishedAt = (Timestamp) row[11];
+        return new BlogSummaryDto(id, (String) row[0], (String) row[2], (String) row[3], (String) row[4],
+                (String) row[5], BlogStatus.valueOf((String) row[6]), (Long) row[7], 0L, (Boolean) row[8],
+                publishedAt != null ? publishedAt.toLocalDateTime() : null, updatedAt.toLocalDateTime());
+    }
+
+    private static List<String> values(List<BlogDto> blogs, BulkImportResult[] results,
+                                       Function<BlogDto, String> field) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < blogs.size(); i++) {
+            if (results[i] == null && field.apply(blogs.get(i)) != null) {
+                values.add(field.apply(blogs.get(i)));
+            }
+        }
+        return values;
+    }
+
+    // Values of a unique column that are already present in the blogs table
+    private Set<String> existing(String column, Collection<String> values) {
+        if (values.isEmpty()) {
+            return new HashSet<>();
+        }
+        String sql = "SELECT " + column + " FROM blogs WHERE " + column + " IN (" + placeholders(values.size()) + ")";
+        return new HashSet<>(jdbcTemplate.queryForList(sql, String.class, values.toArray()));
+    }
+
+    // Every existing slug equal to one of the bases or a numbered variant base-<digits>; other slugs
+    // that merely start with base- are not read, however many there are
+    private NavigableSet<String> existingSlugs(Set<String> bases) {
+        NavigableSet<String> slugs = new TreeSet<>();
+        for (String base : bases) {
+            slugs.addAll(blogRepository.findSlugVariants(base, null));
+        }
+        return slugs;
+    }
+
+    private Map<String, Long> idsBySlug(Collection<String> slugs) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, slug FROM blogs WHERE slug IN (" + placeholders(slugs.size()) + ")",
+                rs -> {
+                    ids.put(rs.getString("slug"), rs.getLong("id"));
+                }, slugs.toArray());
+        return ids;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Outcome of one chunk.
+     *
+     * @param results   one result per input blog, in input order
+     * @param created   stats entries for the blogs that were inserted
+     * @param summaries summaries of the blogs that were inserted
+     */
+    public record Imported(List<BulkImportResult> results,
+                           List<BlogStatsTracker.Entry> created,
+                           List<BlogSummaryDto> summaries) {
+    }
+}
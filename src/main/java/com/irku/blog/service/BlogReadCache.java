@@ -0,0 +1,187 @@
+package com.irku.blog.service;
+
+import com.irku.blog.dto.BlogDto;
+import com.irku.blog.entity.BlogStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of full blog reads, keyed by id with a slug index for published blogs.
+ * Writers invalidate entries after commit; loads that started before an invalidation are
+ * not stored, so a slow reader can never put back a stale copy. View count flushes do not
+ * invalidate: the flushed counts are added to the cached copies instead, so the most read
+ * blogs stay cached. Views not flushed yet are added by the caller on every read.
+ */
+@Component
+public class BlogReadCache implements MeterBinder {
+
+    private final int maxEntries;
+
+    // Access-ordered so the eldest entry is the least recently used one
+    private final LinkedHashMap<Long, BlogDto> entries;
+    private final Map<String, Long> slugIndex = new HashMap<>();
+
+    // Bumped on every invalidation so in-flight loads can detect they are stale
+    private long generation;
+
+    // Bumped on every view count flush; a load that read the counts before a flush must not be stored
+    private long flushes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BlogReadCache(@Value("${blog.cache.max-entries:500}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BlogDto> eldest) {
+                if (size() > BlogReadCache.this.maxEntries) {
+                    unindex(eldest.getValue());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Look up a blog by id (any status)
+    public synchronized Optional<BlogDto> getById(Long id) {
+        return record(entries.get(id));
+    }
+
+    // Look up a published blog by slug
+    public synchronized Optional<BlogDto> getPublishedBySlug(String slug) {
+        Long id = slugIndex.get(slug);
+        BlogDto blog = id != null ? entries.get(id) : null;
+        return record(blog != null && slug.equals(blog.getSlug()) ? blog : null);
+    }
+
+    // Cached published blog, without counting a hit or miss
+    public synchronized Optional<BlogDto> peekPublishedBySlug(String slug) {
+        Long id = slugIndex.get(slug);
+        BlogDto blog = id != null ? entries.get(id) : null;
+        return blog != null && slug.equals(blog.getSlug()) ? Optional.of(blog) : Optional.empty();
+    }
+
+    // Id of a cached published blog, without counting a hit or miss
+    public synchronized Optional<Long> peekPublishedId(String slug) {
+        Long id = slugIndex.get(slug);
+        BlogDto blog = id != null ? entries.get(id) : null;
+        return blog != null && slug.equals(blog.getSlug()) ? Optional.of(id) : Optional.empty();
+    }
+
+    // Current state; take it before loading from the database and pass it to put() afterwards
+    public synchronized Stamp stamp() {
+        return new Stamp(generation, flushes);
+    }
+
+    // Store a loaded blog unless something was invalidated or flushed since the load started
+    public synchronized void put(BlogDto blog, Stamp loadedAt) {
+        if (loadedAt.generation() != generation || loadedAt.flushes() != flushes || maxEntries <= 0) {
+            return;
+        }
+        BlogDto previous = entries.put(blog.getId(), blog);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (blog.getStatus() == BlogStatus.PUBLISHED && blog.getSlug() != null) {
+            slugIndex.put(blog.getSlug(), blog.getId());
+        }
+    }
+
+    // Drop a blog and its slug mapping after it was changed or deleted
+    public synchronized void evict(Long id) {
+        generation++;
+        BlogDto removed = entries.remove(id);
+        if (removed != null) {
+            unindex(removed);
+            invalidations.increment();
+        }
+    }
+
+    // Persisted view counts changed; bring the cached copies of these blogs up to date in place
+    @EventListener
+    public synchronized void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        flushes++;
+        event.views().forEach((id, views) -> {
+            BlogDto cached = entries.get(id);
+            if (cached != null) {
+                // Entries are shared with readers, so they are replaced rather than modified
+                BlogDto updated = new BlogDto(cached);
+                updated.setViewCount((cached.getViewCount() != null ? cached.getViewCount() : 0L) + views);
+                entries.put(id, updated);
+            }
+        });
+        event.uniqueViews().forEach((id, uniqueViews) -> {
+            BlogDto cached = entries.get(id);
+            if (cached != null) {
+                BlogDto updated = new BlogDto(cached);
+                updated.setUniqueViews(uniqueViews);
+                entries.put(id, updated);
+            }
+        });
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(entries.size(), maxEntries, hits.sum(), misses.sum(),
+                evictions.sum(), invalidations.sum());
+    }
+
+    // Exposes the counters above as blog.cache.* meters; bound by Spring Boot on startup
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("blog.cache.requests", hits, LongAdder::sum)
+                .description("Read cache lookups").tag("result", "hit").register(registry);
+        FunctionCounter.builder("blog.cache.requests", misses, LongAdder::sum)
+                .description("Read cache lookups").tag("result", "miss").register(registry);
+        FunctionCounter.builder("blog.cache.evictions", evictions, LongAdder::sum)
+                .description("Entries dropped to stay within max-entries").register(registry);
+        FunctionCounter.builder("blog.cache.invalidations", invalidations, LongAdder::sum)
+                .description("Entries dropped because the blog changed").register(registry);
+        Gauge.builder("blog.cache.size", this, cache -> cache.stats().size())
+                .description("Blogs currently cached").register(registry);
+    }
+
+    private Optional<BlogDto> record(BlogDto blog) {
+        if (blog != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return Optional.ofNullable(blog);
+    }
+
+    private void unindex(BlogDto blog) {
+        if (blog.getSlug() != null) {
+            slugIndex.remove(blog.getSlug(), blog.getId());
+        }
+    }
+
+    /**
+     * Cache state a load started from.
+     *
+     * @param generation invalidations so far; also identifies loads that may share a result
+     * @param flushes    view count flushes so far
+     */
+    public record Stamp(long generation, long flushes) {
+    }
+
+    // Cache sizing metrics
+    public record CacheStats(long size, long maxEntries, long hits, long misses,
+                             long evictions, long invalidations) {
+    }
+}
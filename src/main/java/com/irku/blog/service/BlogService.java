@@ -1,11 +1,20 @@
 package com.irku.blog.service;
 
+import com.irku.blog.dto.BlogChanges;
 import com.irku.blog.dto.BlogDto;
 import com.irku.blog.dto.BlogSummaryDto;
+import com.irku.blog.dto.BlogViewSeries;
+import com.irku.blog.dto.BulkImportResult;
+import com.irku.blog.dto.CursorPage;
+import com.irku.blog.entity.BlogStatus;
 import org.springframework.data.domain.Page;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface BlogService {
 
@@ -32,8 +41,21 @@ public interface BlogService {
      */
     Page<BlogSummaryDto> getPublishedBlogs(int page, int size);
 
+    /**
+     * Retrieve published blogs with keyset pagination on (publishedAt, id), newest first.
+     * Unlike offset paging, the cost of a slice does not grow with its depth.
+     *
+     * @param cursor    opaque token from a previous slice, or null/blank for the first slice
+     * @param size      slice size (items per slice)
+     * @param withTotal whether to also run the count query for totalElements
+     * @return a CursorPage of BlogSummaryDto
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    CursorPage<BlogSummaryDto> getPublishedBlogs(String cursor, int size, boolean withTotal);
+
     /**
      * Find a blog by its database identifier.
+     * Served from the in-process read cache when possible.
      *
      * @param id blog id
      * @return Optional containing BlogDto if found, otherwise empty
@@ -42,12 +64,30 @@ public interface BlogService {
 
     /**
      * Find a published blog by its slug.
+     * Served from the in-process read cache when possible.
      *
      * @param slug unique slug
      * @return Optional containing BlogDto if found and published, otherwise empty
      */
     Optional<BlogDto> getPublishedBlogBySlug(String slug);
 
+    /**
+     * Find a published blog by its slug in the read cache only, never querying the database.
+     *
+     * @param slug unique slug
+     * @return Optional containing BlogDto if cached and published, otherwise empty
+     */
+    Optional<BlogDto> getCachedPublishedBlogBySlug(String slug);
+
+    /**
+     * Find the id of a published blog by its slug without loading the blog.
+     * Served from the in-process read cache when possible.
+     *
+     * @param slug unique slug
+     * @return Optional containing the id if found and published, otherwise empty
+     */
+    Optional<Long> getPublishedBlogId(String slug);
+
     /**
      * Find a blog by its slug (any status).
      *
@@ -65,6 +105,7 @@ public interface BlogService {
 
     /**
      * Search published blogs by a free-text term with pagination.
+     * Results are ordered by BM25 relevance and carry a highlighted snippet.
      *
      * @param searchTerm query text to search in title/content/etc.
      * @param page       zero-based page index
@@ -73,59 +114,155 @@ public interface BlogService {
      */
     Page<BlogSummaryDto> searchBlogs(String searchTerm, int page, int size);
 
+    /**
+     * Search published blogs with keyset pagination on (relevance, id), best matches first.
+     *
+     * @param searchTerm query text to search in title/content/etc.
+     * @param cursor     opaque token from a previous slice, or null/blank for the first slice
+     * @param size       slice size (items per slice)
+     * @param withTotal  whether to also run the count query for totalElements
+     * @return a CursorPage of BlogSummaryDto matching the query
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    CursorPage<BlogSummaryDto> searchBlogs(String searchTerm, String cursor, int size, boolean withTotal);
+
+    /**
+     * First day of the window getRecentBlogs covers today. It only moves at midnight, so a
+     * response built from it can be reused for the rest of the day.
+     *
+     * @return the day three months ago
+     */
+    LocalDate getRecentCutoff();
+
     /**
      * Retrieve most recent published blogs within a time window.
      *
-     * @param limit maximum number of items to return
+     * @param limit  maximum number of items to return
+     * @param cutoff first day of the window, see getRecentCutoff()
      * @return list of BlogSummaryDto for recent blogs
      */
-    List<BlogSummaryDto> getRecentBlogs(int limit);
+    List<BlogSummaryDto> getRecentBlogs(int limit, LocalDate cutoff);
 
     /**
-     * Retrieve most popular published blogs by view count.
+     * Retrieve most popular published blogs by view count, with at least the configured minimum of views.
+     * Served from an in-memory ranking that follows every view, including views not yet flushed to the database.
      *
-     * @param limit maximum number of items to return
+     * @param limit maximum number of items to return, capped at the ranking capacity
      * @return list of BlogSummaryDto for popular blogs
      */
     List<BlogSummaryDto> getPopularBlogs(int limit);
 
+    /**
+     * Retrieve the published blogs with the most views within a recent window.
+     * Served from an in-memory ranking of hourly view counts; the window slides by the hour.
+     *
+     * @param window how far back views count
+     * @param limit  maximum number of items to return, capped at the ranking capacity
+     * @return list of BlogSummaryDto, most viewed in the window first
+     */
+    List<BlogSummaryDto> getTrendingBlogs(PopularityIndex.Window window, int limit);
+
+    /**
+     * Views of a blog (any status) per hour or day over a time range, read from the hourly view buckets.
+     * Empty hours or days are included with zero views; views of the last few seconds may not be in yet.
+     *
+     * @param id          blog id
+     * @param from        start of the range, rounded down to the hour or day
+     * @param to          end of the range (exclusive), rounded up to the hour or day
+     * @param granularity point size
+     * @return the series, or empty if the blog does not exist
+     * @throws IllegalArgumentException if the range is empty or has too many points
+     */
+    Optional<BlogViewSeries> getViewSeries(Long id, LocalDateTime from, LocalDateTime to,
+                                           ViewTimeSeries.Granularity granularity);
+
     /**
      * Create a new blog entry.
      * Implementations should ensure slug uniqueness and set timestamps appropriately.
+     * The write is queued; the future completes once it has been committed, or fails with
+     * RejectedExecutionException when the write queue stays full.
      *
      * @param blogDto input data
-     * @return created BlogDto
+     * @return future of the created BlogDto
      */
-    BlogDto createBlog(BlogDto blogDto);
+    CompletableFuture<BlogDto> createBlog(BlogDto blogDto);
 
     /**
      * Update an existing blog by id.
      * Implementations may update slug if title changes while preserving uniqueness.
+     * Queued like {@link #createBlog(BlogDto)}.
      *
      * @param id      blog id to update
      * @param blogDto new values
-     * @return Optional of updated BlogDto if blog exists, otherwise empty
+     * @return future of an Optional of the updated BlogDto if the blog exists, otherwise empty
      */
-    Optional<BlogDto> updateBlog(Long id, BlogDto blogDto);
+    CompletableFuture<Optional<BlogDto>> updateBlog(Long id, BlogDto blogDto);
 
     /**
      * Delete a blog by id.
+     * Queued like {@link #createBlog(BlogDto)}.
      *
      * @param id blog id to delete
-     * @return true if a blog was deleted, false if not found
+     * @return future of true if a blog was deleted, false if not found
+     */
+    CompletableFuture<Boolean> deleteBlog(Long id);
+
+    /**
+     * Create a chunk of blogs in one batch, for bulk imports.
+     * Invalid items and items whose title or excerpt is already taken are reported and skipped;
+     * the others get unique slugs and are inserted together in one write-queue transaction.
+     * Missing status defaults to DRAFT; supplied created/updated/published dates are kept.
+     *
+     * @param firstIndex request position of the first blog, used in the results
+     * @param blogs      blogs to create, at most one chunk (see blog.bulk.chunk-size)
+     * @return future of one result per blog in input order, completed after commit
+     */
+    CompletableFuture<List<BulkImportResult>> importBlogs(int firstIndex, List<BlogDto> blogs);
+
+    /**
+     * Stream every blog, with content, to the sink in id order.
+     * Rows are read through a database cursor and handed over one at a time without being kept,
+     * so memory use does not depend on the size of the catalog. The sink runs inside the read
+     * transaction; an exception it throws aborts the export.
+     *
+     * @param status only export blogs with this status, or null for all blogs
+     * @param sink   receives each blog as a BlogDto
+     */
+    void exportBlogs(BlogStatus status, Consumer<BlogDto> sink);
+
+    /**
+     * Retrieve blogs created, updated or deleted after a watermark, for clients that keep a copy of the catalog.
+     * Blogs of every status are returned, oldest change first, so a client can also drop posts that were
+     * unpublished. Without a watermark the feed starts from the full catalog.
+     *
+     * @param since watermark from a previous call, or null/blank to start from the full catalog
+     * @param limit maximum number of changed blogs, and of deleted blogs, in this slice
+     * @return the changes and the watermark to pass on the next call
+     * @throws IllegalArgumentException if the watermark is malformed
+     */
+    BlogChanges getChanges(String since, int limit);
+
+    /**
+     * Hit, miss and eviction counts of the blog read cache, for sizing it.
+     *
+     * @return current CacheStats snapshot
      */
-    boolean deleteBlog(Long id);
+    BlogReadCache.CacheStats getCacheStats();
 
     /**
-     * Increment view count for a published blog identified by slug.
-     * No-op if blog not found or not published.
+     * Increment view count for a published blog and count the visitor towards its unique views,
+     * which count each visitor once per day.
+     * Views are buffered in memory and flushed to the database in batches, so this never queries.
      *
-     * @param slug blog slug
+     * @param id      id of the published blog, as resolved by the caller
+     * @param visitor fingerprint of the visitor, see UniqueViewCounter.fingerprint
      */
-    void incrementViewCount(String slug);
+    void incrementViewCount(Long id, long visitor);
 
     /**
-     * Aggregate blog statistics such as total published blogs and total views.
+     * Aggregate blog statistics such as total published blogs and total views,
+     * plus blog counts per status and published counts per author and per month.
+     * Served from incrementally maintained counters.
      *
      * @return BlogStats aggregate metrics
      */
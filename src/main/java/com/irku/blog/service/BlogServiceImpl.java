@@ -1,70 +1,192 @@
 package com.irku.blog.service;
 
+import com.irku.blog.dto.BlogChanges;
 import com.irku.blog.dto.BlogDto;
+import com.irku.blog.dto.BlogEvent;
 import com.irku.blog.dto.BlogSummaryDto;
+import com.irku.blog.dto.BlogViewSeries;
+import com.irku.blog.dto.BulkImportResult;
+import com.irku.blog.dto.CursorPage;
 import com.irku.blog.entity.Blog;
 import com.irku.blog.entity.BlogStatus;
+import com.irku.blog.entity.BlogTombstone;
+import com.irku.blog.entity.Slugifier;
 import com.irku.blog.repository.BlogRepository;
+import com.irku.blog.repository.BlogSearchRepository;
+import com.irku.blog.repository.BlogTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Timed(value = "blog.service", description = "BlogService method latency", histogram = true)
 public class BlogServiceImpl implements BlogService {
 
     private final BlogRepository blogRepository;
+    private final BlogSearchRepository blogSearchRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final BlogReadCache blogReadCache;
+    private final CatalogVersion catalogVersion;
+    private final BlogStatsTracker blogStatsTracker;
+    private final BlogWriteQueue blogWriteQueue;
+    private final BlogImporter blogImporter;
+    private final EntityManager entityManager;
+    private final BlogTombstoneRepository tombstoneRepository;
+    private final TombstoneRetention tombstoneRetention;
+    private final BlogEventFeed blogEventFeed;
+    private final PopularityIndex popularityIndex;
+    private final UniqueViewCounter uniqueViewCounter;
+    private final ViewTimeSeries viewTimeSeries;
+    private final TransactionTemplate readTransaction;
 
-    public BlogServiceImpl(BlogRepository blogRepository) {
+    // Concurrent cache misses for the same blog share one query; keyed by cache generation so a
+    // read that starts after an invalidation never joins a load from before it
+    private final SingleFlight<Versioned<Long>, Optional<BlogDto>> loadsById;
+    private final SingleFlight<Versioned<String>, Optional<BlogDto>> loadsBySlug;
+
+    public BlogServiceImpl(BlogRepository blogRepository,
+                           BlogSearchRepository blogSearchRepository,
+                           ViewCountBuffer viewCountBuffer,
+                           BlogReadCache blogReadCache,
+                           CatalogVersion catalogVersion,
+                           BlogStatsTracker blogStatsTracker,
+                           BlogWriteQueue blogWriteQueue,
+                           BlogImporter blogImporter,
+                           EntityManager entityManager,
+                           BlogTombstoneRepository tombstoneRepository,
+                           TombstoneRetention tombstoneRetention,
+                           BlogEventFeed blogEventFeed,
+                           PopularityIndex popularityIndex,
+                           UniqueViewCounter uniqueViewCounter,
+                           ViewTimeSeries viewTimeSeries,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
         this.blogRepository = blogRepository;
+        this.blogSearchRepository = blogSearchRepository;
+        this.viewCountBuffer = viewCountBuffer;
+        this.blogReadCache = blogReadCache;
+        this.catalogVersion = catalogVersion;
+        this.blogStatsTracker = blogStatsTracker;
+        this.blogWriteQueue = blogWriteQueue;
+        this.blogImporter = blogImporter;
+        this.entityManager = entityManager;
+        this.tombstoneRepository = tombstoneRepository;
+        this.tombstoneRetention = tombstoneRetention;
+        this.blogEventFeed = blogEventFeed;
+        this.popularityIndex = popularityIndex;
+        this.uniqueViewCounter = uniqueViewCounter;
+        this.viewTimeSeries = viewTimeSeries;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.loadsById = new SingleFlight<>("blog-by-id", meterRegistry);
+        this.loadsBySlug = new SingleFlight<>("blog-by-slug", meterRegistry);
     }
 
     // Get all published blogs
     @Transactional(readOnly = true)
     public List<BlogSummaryDto> getAllBlogs() {
-        return blogRepository.findAll()
-                .stream()
-                .map(BlogSummaryDto::new)
-                .collect(Collectors.toList());
+        return blogRepository.findAllSummaries();
     }
 
     // Get all published blogs
     @Transactional(readOnly = true)
     public List<BlogSummaryDto> getAllPublishedBlogs() {
-        return blogRepository.findByStatusOrderByPublishedAtDesc(BlogStatus.PUBLISHED)
-                .stream()
-                .map(BlogSummaryDto::new)
-                .collect(Collectors.toList());
+        return blogRepository.findSummariesByStatus(BlogStatus.PUBLISHED);
     }
 
     // Get published blogs with pagination
     @Transactional(readOnly = true)
     public Page<BlogSummaryDto> getPublishedBlogs(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("publishedAt").descending());
-        return blogRepository.findByStatusOrderByPublishedAtDesc(BlogStatus.PUBLISHED, pageable)
-                .map(BlogSummaryDto::new);
+        Pageable pageable = PageRequest.of(page, size);
+        return blogRepository.findSummariesByStatus(BlogStatus.PUBLISHED, pageable);
     }
 
-    // Get blog by ID
+    // Get published blogs with keyset pagination
     @Transactional(readOnly = true)
+    public CursorPage<BlogSummaryDto> getPublishedBlogs(String cursor, int size, boolean withTotal) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<BlogSummaryDto> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = blogRepository.findSummarySlice(BlogStatus.PUBLISHED, limit);
+        } else {
+            CursorCodec.TimeKey after = CursorCodec.decodeTimeKey(cursor);
+            slice = blogRepository.findSummarySliceAfter(BlogStatus.PUBLISHED, after.publishedAt(), after.id(), limit);
+        }
+        boolean hasNext = slice.size() > size;
+        List<BlogSummaryDto> content = hasNext ? slice.subList(0, size) : slice;
+        String nextCursor = null;
+        if (hasNext) {
+            BlogSummaryDto last = content.get(content.size() - 1);
+            nextCursor = CursorCodec.encode(new CursorCodec.TimeKey(last.getPublishedAt(), last.getId()));
+        }
+        Long total = withTotal ? blogRepository.countByStatus(BlogStatus.PUBLISHED) : null;
+        return new CursorPage<>(content, nextCursor, hasNext, total);
+    }
+
+    // Get blog by ID; only the single-flight leader opens a transaction, so callers waiting
+    // on its load hold neither a connection nor a reader permit
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<BlogDto> getBlogById(Long id) {
-        return blogRepository.findById(id)
-                .map(BlogDto::new);
+        Optional<BlogDto> cached = blogReadCache.getById(id);
+        if (cached.isPresent()) {
+            return cached.map(this::withPendingViews);
+        }
+        BlogReadCache.Stamp stamp = blogReadCache.stamp();
+        Optional<BlogDto> blog = loadsById.load(new Versioned<>(id, stamp.generation()),
+                () -> readTransaction.execute(status -> blogRepository.findById(id).map(BlogDto::new)));
+        blog.ifPresent(dto -> blogReadCache.put(dto, stamp));
+        return blog.map(this::withPendingViews);
     }
 
-    // Get published blog by slug
-    @Transactional(readOnly = true)
+    // Get published blog by slug; loaded like getBlogById
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<BlogDto> getPublishedBlogBySlug(String slug) {
-        return blogRepository.findBySlugAndStatus(slug, BlogStatus.PUBLISHED)
-                .map(BlogDto::new);
+        Optional<BlogDto> cached = blogReadCache.getPublishedBySlug(slug);
+        if (cached.isPresent()) {
+            return cached.map(this::withPendingViews);
+        }
+        BlogReadCache.Stamp stamp = blogReadCache.stamp();
+        Optional<BlogDto> blog = loadsBySlug.load(new Versioned<>(slug, stamp.generation()),
+                () -> readTransaction.execute(status ->
+                        blogRepository.findBySlugAndStatus(slug, BlogStatus.PUBLISHED).map(BlogDto::new)));
+        blog.ifPresent(dto -> blogReadCache.put(dto, stamp));
+        return blog.map(this::withPendingViews);
+    }
+
+    // Get a cached published blog by slug, without a query
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<BlogDto> getCachedPublishedBlogBySlug(String slug) {
+        return blogReadCache.peekPublishedBySlug(slug).map(this::withPendingViews);
+    }
+
+    // Get the id of a published blog by slug; a cache miss reads the slug index only
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<Long> getPublishedBlogId(String slug) {
+        return blogReadCache.peekPublishedId(slug)
+                .or(() -> readTransaction.execute(status ->
+                        blogRepository.findIdBySlugAndStatus(slug, BlogStatus.PUBLISHED)));
     }
 
     // Get blog by slug (any status)
@@ -77,43 +199,102 @@ public class BlogServiceImpl implements BlogService {
     // Get featured blogs
     @Transactional(readOnly = true)
     public List<BlogSummaryDto> getFeaturedBlogs() {
-        return blogRepository.findByIsFeaturedTrueAndStatusOrderByPublishedAtDesc(BlogStatus.PUBLISHED)
-                .stream()
-                .map(BlogSummaryDto::new)
-                .collect(Collectors.toList());
+        return blogRepository.findFeaturedSummaries(BlogStatus.PUBLISHED);
     }
 
-    // Search blogs
+    // Search blogs (full-text index, ranked by relevance)
     @Transactional(readOnly = true)
     public Page<BlogSummaryDto> searchBlogs(String searchTerm, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("publishedAt").descending());
-        return blogRepository.searchPublishedBlogs(searchTerm, BlogStatus.PUBLISHED, pageable)
-                .map(BlogSummaryDto::new);
+        Pageable pageable = PageRequest.of(page, size);
+        return blogSearchRepository.search(searchTerm, BlogStatus.PUBLISHED, pageable);
     }
 
-    // Get recent blogs
+    // Search blogs with keyset pagination
     @Transactional(readOnly = true)
-    public List<BlogSummaryDto> getRecentBlogs(int limit) {
-        LocalDateTime since = LocalDateTime.now().minusMonths(3); // Last 3 months
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("publishedAt").descending());
-        return blogRepository.findRecentBlogs(BlogStatus.PUBLISHED, since, pageable)
-                .stream()
-                .map(BlogSummaryDto::new)
+    public CursorPage<BlogSummaryDto> searchBlogs(String searchTerm, String cursor, int size, boolean withTotal) {
+        List<BlogSearchRepository.ScoredSummary> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = blogSearchRepository.searchAfter(searchTerm, BlogStatus.PUBLISHED, null, null, size + 1);
+        } else {
+            CursorCodec.ScoreKey after = CursorCodec.decodeScoreKey(cursor);
+            slice = blogSearchRepository.searchAfter(searchTerm, BlogStatus.PUBLISHED,
+                    after.score(), after.id(), size + 1);
+        }
+        boolean hasNext = slice.size() > size;
+        List<BlogSearchRepository.ScoredSummary> page = hasNext ? slice.subList(0, size) : slice;
+        String nextCursor = null;
+        if (hasNext) {
+            BlogSearchRepository.ScoredSummary last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(new CursorCodec.ScoreKey(last.score(), last.summary().getId()));
+        }
+        List<BlogSummaryDto> content = page.stream()
+                .map(BlogSearchRepository.ScoredSummary::summary)
                 .collect(Collectors.toList());
+        Long total = withTotal ? blogSearchRepository.count(searchTerm, BlogStatus.PUBLISHED) : null;
+        return new CursorPage<>(content, nextCursor, hasNext, total);
     }
 
-    // Get popular blogs
+    // Start of the recent window, whole days so it only changes at midnight
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public LocalDate getRecentCutoff() {
+        return LocalDate.now().minusMonths(3); // Last 3 months
+    }
+
+    // Get recent blogs
     @Transactional(readOnly = true)
+    public List<BlogSummaryDto> getRecentBlogs(int limit, LocalDate cutoff) {
+        Pageable pageable = PageRequest.of(0, limit);
+        return blogRepository.findRecentSummaries(BlogStatus.PUBLISHED, cutoff.atStartOfDay(), pageable);
+    }
+
+    // Get popular blogs (maintained in memory, no query)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<BlogSummaryDto> getPopularBlogs(int limit) {
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("viewCount").descending());
-        return blogRepository.findPopularBlogs(BlogStatus.PUBLISHED, 10L, pageable)
-                .stream()
-                .map(BlogSummaryDto::new)
-                .collect(Collectors.toList());
+        return popularityIndex.popular(limit);
+    }
+
+    // Get trending blogs (maintained in memory, no query)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BlogSummaryDto> getTrendingBlogs(PopularityIndex.Window window, int limit) {
+        return popularityIndex.trending(window, limit);
+    }
+
+    // Get the views of a blog per hour or day (read from the hourly buckets)
+    @Transactional(readOnly = true)
+    public Optional<BlogViewSeries> getViewSeries(Long id, LocalDateTime from, LocalDateTime to,
+                                                  ViewTimeSeries.Granularity granularity) {
+        if (!blogRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(viewTimeSeries.series(id, from, to, granularity));
+    }
+
+    // Create a new blog (applied by the write queue)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<BlogDto> createBlog(BlogDto blogDto) {
+        return blogWriteQueue.submit(() -> doCreateBlog(blogDto));
+    }
+
+    // Update blog (applied by the write queue)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<Optional<BlogDto>> updateBlog(Long id, BlogDto blogDto) {
+        return blogWriteQueue.submit(() -> doUpdateBlog(id, blogDto));
+    }
+
+    // Delete blog (applied by the write queue)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<Boolean> deleteBlog(Long id) {
+        return blogWriteQueue.submit(() -> doDeleteBlog(id));
+    }
+
+    // Create a chunk of blogs in one JDBC batch through the write queue
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<List<BulkImportResult>> importBlogs(int firstIndex, List<BlogDto> blogs) {
+        List<BlogDto> chunk = List.copyOf(blogs);
+        return blogWriteQueue.submit(() -> doImportBlogs(firstIndex, chunk));
     }
 
-    // Create a new blog
-    public BlogDto createBlog(BlogDto blogDto) {
+    private BlogDto doCreateBlog(BlogDto blogDto) {
         Blog blog = new Blog();
         blog.setTitle(blogDto.getTitle());
         blog.setContent(blogDto.getContent());
@@ -123,29 +304,35 @@ public class BlogServiceImpl implements BlogService {
         blog.setStatus(blogDto.getStatus() != null ? blogDto.getStatus() : BlogStatus.DRAFT);
         blog.setIsFeatured(blogDto.getIsFeatured() != null ? blogDto.getIsFeatured() : false);
         blog.setCreatedAt(LocalDateTime.now());
-        if (blogDto.getStatus().equals(BlogStatus.PUBLISHED)) {
+        if (BlogStatus.PUBLISHED == blogDto.getStatus()) {
             blog.setPublishedAt(LocalDateTime.now());
         }
 
-        // Ensure unique slug
-        String baseSlug = blog.getSlug();
-        String slug = baseSlug;
-        int counter = 1;
-        while (blogRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + counter;
-            counter++;
-        }
-        blog.setSlug(slug);
+        blog.setSlug(allocateSlug(blog.getSlug(), null));
 
         Blog savedBlog = blogRepository.save(blog);
-        return new BlogDto(savedBlog);
+        BlogStatsTracker.Entry created = statsEntry(savedBlog);
+        BlogDto createdBlog = new BlogDto(savedBlog);
+        BlogSummaryDto summary = new BlogSummaryDto(savedBlog);
+        afterCommit(() -> {
+            catalogVersion.bump();
+            blogStatsTracker.onCreated(created);
+            popularityIndex.onChanged(summary);
+            publishEvents(BlogEvent.Type.CREATED, createdBlog, null);
+        });
+        return createdBlog;
     }
 
-    // Update blog
-    public Optional<BlogDto> updateBlog(Long id, BlogDto blogDto) {
+    private Optional<BlogDto> doUpdateBlog(Long id, BlogDto blogDto) {
         return blogRepository.findById(id)
                 .map(blog -> {
+                    BlogStatsTracker.Entry before = statsEntry(blog);
+                    // A new title gets a new slug; an unchanged one keeps its slug, suffix included.
+                    // Allocated before the entity is modified so the lookup does not flush a half-updated row
+                    String slug = Objects.equals(blog.getTitle(), blogDto.getTitle()) ? blog.getSlug()
+                            : allocateSlug(blog.generateSlug(blogDto.getTitle()), id);
                     blog.setTitle(blogDto.getTitle());
+                    blog.setSlug(slug);
                     blog.setContent(blogDto.getContent());
                     blog.setExcerpt(blogDto.getExcerpt());
                     blog.setAuthor(blogDto.getAuthor());
@@ -153,56 +340,200 @@ public class BlogServiceImpl implements BlogService {
                     blog.setStatus(blogDto.getStatus());
                     blog.setIsFeatured(blogDto.getIsFeatured());
                     blog.setUpdatedAt(LocalDateTime.now());
-                    if (blogDto.getStatus().equals(BlogStatus.PUBLISHED)) {
+                    if (BlogStatus.PUBLISHED == blogDto.getStatus()) {
                         blog.setPublishedAt(LocalDateTime.now());
                     }
 
-                    // Update slug if title changed
-                    String newSlug = blog.generateSlug(blogDto.getTitle());
-                    if (!newSlug.equals(blog.getSlug())) {
-                        String slug = newSlug;
-                        int counter = 1;
-                        while (blogRepository.existsBySlugAndIdNot(slug, id)) {
-                            slug = newSlug + "-" + counter;
-                            counter++;
-                        }
-                        blog.setSlug(slug);
-                    }
-
                     Blog savedBlog = blogRepository.save(blog);
-                    return new BlogDto(savedBlog);
+                    BlogStatsTracker.Entry after = statsEntry(savedBlog);
+                    BlogDto updatedBlog = new BlogDto(savedBlog);
+                    BlogSummaryDto summary = new BlogSummaryDto(savedBlog);
+                    afterCommit(() -> {
+                        blogReadCache.evict(id);
+                        catalogVersion.bump();
+                        blogStatsTracker.onUpdated(before, after);
+                        popularityIndex.onChanged(summary);
+                        publishEvents(BlogEvent.Type.UPDATED, updatedBlog, before.status());
+                    });
+                    return updatedBlog;
                 });
     }
 
-    // Delete blog
-    public boolean deleteBlog(Long id) {
-        if (blogRepository.existsById(id)) {
-            blogRepository.deleteById(id);
-            return true;
+    private List<BulkImportResult> doImportBlogs(int firstIndex, List<BlogDto> blogs) {
+        BlogImporter.Imported imported = blogImporter.importChunk(firstIndex, blogs);
+        if (!imported.created().isEmpty()) {
+            afterCommit(() -> {
+                catalogVersion.bump();
+                imported.created().forEach(blogStatsTracker::onCreated);
+                imported.summaries().forEach(summary -> {
+                    popularityIndex.onChanged(summary);
+                    blogEventFeed.publish(BlogEvent.Type.CREATED, summary.getId(), summary.getSlug(),
+                            summary.getTitle(), summary.getStatus());
+                    if (summary.getStatus() == BlogStatus.PUBLISHED) {
+                        blogEventFeed.publish(BlogEvent.Type.PUBLISHED, summary.getId(), summary.getSlug(),
+                                summary.getTitle(), summary.getStatus());
+                    }
+                });
+            });
         }
-        return false;
+        return imported.results();
     }
 
-    // Increment view count
-    public void incrementViewCount(String slug) {
-        blogRepository.findBySlugAndStatus(slug, BlogStatus.PUBLISHED)
-                .ifPresent(Blog::incrementViewCount);
+    private boolean doDeleteBlog(Long id) {
+        return blogRepository.findById(id)
+                .map(blog -> {
+                    BlogStatsTracker.Entry deleted = statsEntry(blog);
+                    String slug = blog.getSlug();
+                    String title = blog.getTitle();
+                    blogRepository.delete(blog);
+                    afterCommit(() -> {
+                        viewCountBuffer.discard(id);
+                        uniqueViewCounter.discard(id);
+                        viewTimeSeries.discard(id);
+                        blogReadCache.evict(id);
+                        catalogVersion.bump();
+                        blogStatsTracker.onDeleted(deleted);
+                        popularityIndex.onDeleted(id);
+                        blogEventFeed.publish(BlogEvent.Type.DELETED, id, slug, title, null);
+                    });
+                    return true;
+                })
+                .orElse(false);
     }
 
+    // Tell change feed subscribers; a blog that was not published before also gets a PUBLISHED event
+    private void publishEvents(BlogEvent.Type type, BlogDto blog, BlogStatus previousStatus) {
+        blogEventFeed.publish(type, blog.getId(), blog.getSlug(), blog.getTitle(), blog.getStatus());
+        if (blog.getStatus() == BlogStatus.PUBLISHED && previousStatus != BlogStatus.PUBLISHED) {
+            blogEventFeed.publish(BlogEvent.Type.PUBLISHED, blog.getId(), blog.getSlug(), blog.getTitle(),
+                    blog.getStatus());
+        }
+    }
 
-    // Get blog statistics
+    // Base slug, or the first free base-N variant, found with one query instead of a probe per candidate
+    private String allocateSlug(String base, Long excludeId) {
+        List<String> taken = blogRepository.findSlugVariants(base, excludeId);
+        return Slugifier.firstAvailable(base, taken);
+    }
+
+    // Stream all blogs to the sink without holding them in memory
     @Transactional(readOnly = true)
+    public void exportBlogs(BlogStatus status, Consumer<BlogDto> sink) {
+        try (Stream<Blog> blogs = blogRepository.streamAll(status)) {
+            blogs.forEach(blog -> {
+                BlogDto dto = new BlogDto(blog);
+                // Drop the entity from the persistence context so it does not grow with the catalog
+                entityManager.detach(blog);
+                sink.accept(dto);
+            });
+        }
+    }
+
+    // Blogs and tombstones after the watermark, read in one snapshot so the new watermark is consistent
+    @Transactional(readOnly = true)
+    public BlogChanges getChanges(String since, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        CursorCodec.Watermark from = since == null || since.isBlank() ? null : CursorCodec.decodeWatermark(since);
+        // Tombstones older than the retention period are purged, so an older watermark may have missed deletes
+        boolean resync = from != null && (from.issuedAt() == null
+                || from.issuedAt().isBefore(tombstoneRetention.horizon(now)));
+        if (from == null || resync) {
+            // Starting from the full catalog: deletes before now are irrelevant, later ones follow the latest tombstone
+            Optional<BlogTombstone> latest = tombstoneRepository.findFirstByOrderByDeletedAtDescBlogIdDesc();
+            from = new CursorCodec.Watermark(null, null,
+                    latest.map(BlogTombstone::getDeletedAt).orElse(null),
+                    latest.map(BlogTombstone::getBlogId).orElse(null), now);
+        }
+
+        Pageable slice = PageRequest.of(0, limit + 1);
+        List<Blog> blogs = from.updatedAt() == null ? blogRepository.findChangedSlice(slice)
+                : blogRepository.findChangedSliceAfter(from.updatedAt(), from.id(), slice);
+        List<BlogTombstone> tombstones = from.deletedAt() == null ? tombstoneRepository.findSlice(slice)
+                : tombstoneRepository.findSliceAfter(from.deletedAt(), from.deletedId(), slice);
+        boolean hasMore = blogs.size() > limit || tombstones.size() > limit;
+        blogs = blogs.subList(0, Math.min(blogs.size(), limit));
+        tombstones = tombstones.subList(0, Math.min(tombstones.size(), limit));
+
+        // Each position only moves past what this slice returned; with nothing new it stays put
+        Blog lastBlog = blogs.isEmpty() ? null : blogs.get(blogs.size() - 1);
+        BlogTombstone lastTombstone = tombstones.isEmpty() ? null : tombstones.get(tombstones.size() - 1);
+        CursorCodec.Watermark next = new CursorCodec.Watermark(
+                lastBlog != null ? lastBlog.getUpdatedAt() : from.updatedAt(),
+                lastBlog != null ? lastBlog.getId() : from.id(),
+                lastTombstone != null ? lastTombstone.getDeletedAt() : from.deletedAt(),
+                lastTombstone != null ? lastTombstone.getBlogId() : from.deletedId(),
+                now);
+
+        List<BlogChanges.Deleted> deleted = tombstones.stream()
+                .map(t -> new BlogChanges.Deleted(t.getBlogId(), t.getSlug(), t.getDeletedAt()))
+                .toList();
+        return new BlogChanges(blogs.stream().map(BlogDto::new).toList(), deleted,
+                CursorCodec.encode(next), hasMore, resync);
+    }
+
+    // Get read cache statistics
+    public BlogReadCache.CacheStats getCacheStats() {
+        return blogReadCache.stats();
+    }
+
+    // Increment view count and count the visitor and the hour
+    // (buffered, flushed by ViewCountBuffer, UniqueViewCounter and ViewTimeSeries)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void incrementViewCount(Long id, long visitor) {
+        viewCountBuffer.increment(id);
+        uniqueViewCounter.record(id, visitor);
+        viewTimeSeries.record(id);
+        blogStatsTracker.recordView();
+    }
+
+
+    // Get blog statistics (maintained incrementally, no table scan)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BlogStats getBlogStats() {
-        long totalBlogs = blogRepository.countByStatus(BlogStatus.PUBLISHED);
-        long totalViews = blogRepository.findByStatusOrderByPublishedAtDesc(BlogStatus.PUBLISHED)
-                .stream()
-                .mapToLong(blog -> blog.getViewCount() != null ? blog.getViewCount() : 0L)
-                .sum();
+        return blogStatsTracker.snapshot();
+    }
+
+    // Run an action once the current transaction has committed, or right away without one
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Copy of a stored read with the views still waiting in the buffer added; cached copies are shared
+    private BlogDto withPendingViews(BlogDto blog) {
+        long pending = viewCountBuffer.pending(blog.getId());
+        if (pending == 0) {
+            return blog;
+        }
+        BlogDto current = new BlogDto(blog);
+        current.setViewCount((blog.getViewCount() != null ? blog.getViewCount() : 0L) + pending);
+        return current;
+    }
+
+    // Statistics-relevant state of a blog, counting buffered views
+    private BlogStatsTracker.Entry statsEntry(Blog blog) {
+        long views = (blog.getViewCount() != null ? blog.getViewCount() : 0L)
+                + (blog.getId() != null ? viewCountBuffer.pending(blog.getId()) : 0L);
+        return new BlogStatsTracker.Entry(blog.getStatus(), blog.getAuthor(), blog.getPublishedAt(), views);
+    }
 
-        return new BlogStats(totalBlogs, totalViews);
+    // A lookup key as of a read cache generation
+    private record Versioned<K>(K key, long generation) {
     }
 
     // Inner class for blog statistics
-    public record BlogStats(long totalBlogs, long totalViews) {
+    public record BlogStats(long totalBlogs,
+                            long totalViews,
+                            Map<BlogStatus, Long> blogsByStatus,
+                            Map<String, Long> publishedByAuthor,
+                            Map<String, Long> publishedByMonth) {
     }
 }
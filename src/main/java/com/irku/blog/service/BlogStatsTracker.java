@@ -0,0 +1,126 @@
+package com.irku.blog.service;
+
+import com.irku.blog.entity.BlogStatus;
+import com.irku.blog.repository.BlogRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Incrementally maintained blog statistics.
+ * Seeded once from aggregate queries, then kept current by the service write paths and
+ * the view counter, so reading statistics never scans the blogs table.
+ * Author and month breakdowns cover published blogs only.
+ */
+@Component
+public class BlogStatsTracker {
+
+    private static final String UNKNOWN_AUTHOR = "unknown";
+
+    private final BlogRepository blogRepository;
+
+    private final Map<BlogStatus, Long> byStatus = new EnumMap<>(BlogStatus.class);
+    private final Map<String, Long> byAuthor = new HashMap<>();
+    private final Map<YearMonth, Long> byMonth = new HashMap<>();
+
+    // Views of published blogs, including views not yet flushed to the database
+    private final LongAdder totalViews = new LongAdder();
+
+    public BlogStatsTracker(BlogRepository blogRepository) {
+        this.blogRepository = blogRepository;
+    }
+
+    // Rebuild all counters from the database, e.g. after a bulk load
+    @PostConstruct
+    public synchronized void reseed() {
+        byStatus.clear();
+        byAuthor.clear();
+        byMonth.clear();
+        totalViews.reset();
+
+        for (Object[] row : blogRepository.aggregateByStatusAndAuthor()) {
+            BlogStatus status = (BlogStatus) row[0];
+            String author = (String) row[1];
+            long count = ((Number) row[2]).longValue();
+            long views = ((Number) row[3]).longValue();
+            byStatus.merge(status, count, Long::sum);
+            if (status == BlogStatus.PUBLISHED) {
+                byAuthor.merge(authorKey(author), count, Long::sum);
+                totalViews.add(views);
+            }
+        }
+        for (Object[] row : blogRepository.countPublishedByMonth()) {
+            if (row[0] != null) {
+                byMonth.merge(YearMonth.parse((String) row[0]), ((Number) row[1]).longValue(), Long::sum);
+            }
+        }
+    }
+
+    // A view was recorded for a published blog
+    public void recordView() {
+        totalViews.increment();
+    }
+
+    public synchronized void onCreated(Entry created) {
+        apply(created, 1);
+    }
+
+    public synchronized void onUpdated(Entry before, Entry after) {
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    public synchronized void onDeleted(Entry deleted) {
+        apply(deleted, -1);
+    }
+
+    public synchronized BlogServiceImpl.BlogStats snapshot() {
+        return new BlogServiceImpl.BlogStats(
+                byStatus.getOrDefault(BlogStatus.PUBLISHED, 0L),
+                totalViews.sum(),
+                new EnumMap<>(byStatus),
+                new TreeMap<>(byAuthor),
+                toMonthKeys(byMonth));
+    }
+
+    private void apply(Entry entry, int sign) {
+        merge(byStatus, entry.status(), sign);
+        if (entry.status() != BlogStatus.PUBLISHED) {
+            return;
+        }
+        merge(byAuthor, authorKey(entry.author()), sign);
+        if (entry.publishedAt() != null) {
+            merge(byMonth, YearMonth.from(entry.publishedAt()), sign);
+        }
+        totalViews.add(sign * entry.views());
+    }
+
+    private static <K> void merge(Map<K, Long> counts, K key, int sign) {
+        counts.merge(key, (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private static String authorKey(String author) {
+        return author != null && !author.isBlank() ? author : UNKNOWN_AUTHOR;
+    }
+
+    private static Map<String, Long> toMonthKeys(Map<YearMonth, Long> months) {
+        Map<String, Long> sorted = new TreeMap<>();
+        months.forEach((month, count) -> sorted.put(month.toString(), count));
+        return sorted;
+    }
+
+    /**
+     * The parts of a blog that statistics depend on.
+     *
+     * @param views persisted plus buffered view count
+     */
+    public record Entry(BlogStatus status, String author, LocalDateTime publishedAt, long views) {
+    }
+}
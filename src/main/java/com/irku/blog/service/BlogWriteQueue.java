@@ -0,0 +1,157 @@
+package com.irku.blog.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer queue for blog mutations.
+ * One writer thread drains whatever commands are queued (up to a batch limit) and applies
+ * them in a single transaction, so a burst of writes shares one commit instead of each
+ * taking the database lock and syncing on its own. If a batch fails, its commands are
+ * retried one transaction each so a single bad command cannot fail the others.
+ * Futures are completed only after the transaction that applied the command has committed.
+ */
+@Component
+public class BlogWriteQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogWriteQueue.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Command<?>> queue;
+    private final int maxBatch;
+    private final long offerTimeoutMs;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public BlogWriteQueue(PlatformTransactionManager transactionManager,
+                          @Value("${blog.writes.queue-capacity:1000}") int capacity,
+                          @Value("${blog.writes.max-batch:100}") int maxBatch,
+                          @Value("${blog.writes.offer-timeout-ms:2000}") long offerTimeoutMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = maxBatch;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.writer = Thread.ofPlatform().name("blog-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Queue a mutation to run inside the writer's transaction.
+     * Blocks while the queue is full, up to the offer timeout; after that the returned future
+     * fails with RejectedExecutionException. Must not be called from inside another command.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> action) {
+        Command<T> command = new Command<>(action);
+        if (!running) {
+            command.fail(new RejectedExecutionException("Write queue is shut down"));
+            return command.future;
+        }
+        try {
+            if (!queue.offer(command, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                command.fail(new RejectedExecutionException("Write queue is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            command.fail(new RejectedExecutionException("Interrupted while waiting for the write queue", e));
+        }
+        return command.future;
+    }
+
+    // Commands waiting to be applied
+    public int pending() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Stop accepting commands and let the writer apply what is already queued
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void run() {
+        List<Command<?>> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Command<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure in the blog writer", e);
+                batch.forEach(command -> command.fail(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        queue.forEach(command -> command.fail(new RejectedExecutionException("Write queue is shut down")));
+    }
+
+    private void apply(List<Command<?>> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(Command::apply));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.getFirst().fail(e);
+                return;
+            }
+            log.debug("Write batch of {} commands failed, retrying them one by one", batch.size(), e);
+            batch.forEach(this::applyAlone);
+            return;
+        }
+        batch.forEach(Command::complete);
+    }
+
+    private void applyAlone(Command<?> command) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> command.apply());
+        } catch (RuntimeException e) {
+            command.fail(e);
+            return;
+        }
+        command.complete();
+    }
+
+    private static final class Command<T> {
+
+        private final Supplier<T> action;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+
+        private Command(Supplier<T> action) {
+            this.action = action;
+        }
+
+        private void apply() {
+            result = action.get();
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+
+        private void fail(Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
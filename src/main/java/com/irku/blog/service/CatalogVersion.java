@@ -0,0 +1,42 @@
+package com.irku.blog.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the published blog catalog, used for HTTP validators.
+ * The version is bumped after every committed write, so a matching ETag can be answered with 304
+ * without reading anything from the database. View count flushes do not bump it: view counts are
+ * sent outside the validated representation, so the most read blogs keep their validators.
+ * It is seeded from the startup time so validators issued by a previous process never match.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    // Record that the catalog changed
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    // Strong entity tag for responses derived from the current catalog
+    public String etag() {
+        return "\"c" + version.get() + "\"";
+    }
+
+    // Strong entity tag for a specific variant (e.g. an encoding) of a response derived from the current catalog
+    public String etag(String variant) {
+        return "\"c" + version.get() + "-" + variant + "\"";
+    }
+
+    // Weak entity tag for responses whose view counts may have moved on without a catalog change
+    public String weakEtag() {
+        return "W/" + etag();
+    }
+}
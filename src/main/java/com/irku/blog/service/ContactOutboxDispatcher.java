@@ -0,0 +1,161 @@
+package com.irku.blog.service;
+
+import com.irku.blog.entity.ContactOutboxMessage;
+import com.irku.blog.entity.OutboxStatus;
+import com.irku.blog.repository.ContactOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers queued contact emails from the outbox table.
+ * Each run sends one batch through a single SMTP connection; messages that fail are
+ * retried with exponential backoff until they reach the attempt limit.
+ * Delivery is at-least-once: a crash between sending and recording the result resends the batch.
+ */
+@Component
+public class ContactOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ContactOutboxDispatcher.class);
+
+    private final ContactOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    @Value("${blog.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${blog.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${blog.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${blog.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${blog.outbox.retention-days:30}")
+    private int retentionDays;
+
+    public ContactOutboxDispatcher(ContactOutboxRepository outboxRepository,
+                                   JavaMailSender mailSender,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sentCounter = Counter.builder("blog.contact.emails")
+                .description("Contact email delivery attempts").tag("result", "sent")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("blog.contact.emails")
+                .description("Contact email delivery attempts").tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.outbox.poll-interval-ms:2000}")
+    public synchronized void dispatch() {
+        // Keep going while full batches come back so a backlog drains without waiting for the next poll
+        int sent;
+        do {
+            sent = dispatchBatch();
+        } while (sent == batchSize);
+    }
+
+    // Remove delivered messages once they are past the retention period
+    @Scheduled(cron = "${blog.outbox.purge-cron:0 0 3 * * *}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        Integer removed = transactionTemplate.execute(status ->
+                outboxRepository.deleteSentBefore(OutboxStatus.SENT, before));
+        if (removed != null && removed > 0) {
+            log.info("Purged {} delivered contact emails", removed);
+        }
+    }
+
+    private int dispatchBatch() {
+        List<ContactOutboxMessage> due = outboxRepository.findDue(
+                OutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<SimpleMailMessage, ContactOutboxMessage> batch = new IdentityHashMap<>();
+        for (ContactOutboxMessage message : due) {
+            batch.put(toMailMessage(message), message);
+        }
+
+        // Send outside any transaction so the database is not held during the SMTP round trip
+        Map<ContactOutboxMessage, String> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(batch.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((original, cause) -> {
+                ContactOutboxMessage message = batch.get(original);
+                if (message != null) {
+                    failures.put(message, cause.getMessage());
+                }
+            });
+            if (failures.isEmpty()) {
+                due.forEach(message -> failures.put(message, e.getMessage()));
+            }
+        } catch (MailException e) {
+            // Authentication or connection problems fail the whole batch
+            due.forEach(message -> failures.put(message, e.getMessage()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (ContactOutboxMessage message : due) {
+            String error = failures.get(message);
+            if (error == null) {
+                message.markSent(now);
+            } else {
+                message.markFailed(error, now.plus(backoff(message.getAttempts() + 1)), maxAttempts);
+            }
+        }
+        // Plain updates rather than merges, so the transaction starts with a write and waits for the lock
+        transactionTemplate.executeWithoutResult(status -> due.forEach(outboxRepository::saveDeliveryState));
+        sentCounter.increment(due.size() - failures.size());
+        failedCounter.increment(failures.size());
+
+        if (!failures.isEmpty()) {
+            log.warn("Failed to deliver {} of {} contact emails, will retry", failures.size(), due.size());
+        }
+        return due.size() - failures.size();
+    }
+
+    // Delay before the next attempt, doubling after each failure
+    private Duration backoff(int attempt) {
+        long delay = initialBackoffMs << Math.min(attempt - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+
+    private SimpleMailMessage toMailMessage(ContactOutboxMessage outbox) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(outbox.getRecipient());
+        message.setSubject(outbox.getSubject());
+        message.setText(outbox.getBody());
+        message.setReplyTo(outbox.getReplyTo());
+        // Optional: set from if your SMTP requires/permits it
+        // message.setFrom(outbox.getRecipient());
+        return message;
+    }
+}
@@ -0,0 +1,120 @@
+package com.irku.blog.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Encodes keyset pagination positions as opaque URL-safe tokens.
+ * Clients must treat the tokens as opaque; malformed tokens are rejected with
+ * an IllegalArgumentException.
+ */
+public final class CursorCodec {
+
+    private static final String TIME_PREFIX = "t";
+    private static final String SCORE_PREFIX = "s";
+    private static final String WATERMARK_PREFIX = "w";
+    private static final String NONE = "-";
+
+    private CursorCodec() {
+    }
+
+    // Position after a row ordered by (publishedAt DESC, id DESC)
+    public record TimeKey(LocalDateTime publishedAt, Long id) {
+    }
+
+    // Position after a row ordered by (relevance score ASC, id ASC)
+    public record ScoreKey(double score, Long id) {
+    }
+
+    // Delta sync position: last blog seen in (updatedAt, id) order, last tombstone seen in
+    // (deletedAt, blogId) order, and when the watermark was issued. Null positions mean "from the start"
+    public record Watermark(LocalDateTime updatedAt, Long id, LocalDateTime deletedAt, Long deletedId,
+                            LocalDateTime issuedAt) {
+    }
+
+    public static String encode(TimeKey key) {
+        long millis = Timestamp.valueOf(key.publishedAt()).getTime();
+        return wrap(TIME_PREFIX + ":" + millis + ":" + key.id());
+    }
+
+    public static TimeKey decodeTimeKey(String cursor) {
+        String[] parts = unwrap(cursor, TIME_PREFIX);
+        try {
+            LocalDateTime publishedAt = new Timestamp(Long.parseLong(parts[1])).toLocalDateTime();
+            return new TimeKey(publishedAt, Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static String encode(ScoreKey key) {
+        // Raw bits so the score round-trips exactly and equality comparisons still match
+        String bits = Long.toHexString(Double.doubleToRawLongBits(key.score()));
+        return wrap(SCORE_PREFIX + ":" + bits + ":" + key.id());
+    }
+
+    public static ScoreKey decodeScoreKey(String cursor) {
+        String[] parts = unwrap(cursor, SCORE_PREFIX);
+        try {
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16));
+            return new ScoreKey(score, Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static String encode(Watermark watermark) {
+        return wrap(WATERMARK_PREFIX + ":" + millis(watermark.updatedAt()) + ":" + orNone(watermark.id()) + ":" +
+                millis(watermark.deletedAt()) + ":" + orNone(watermark.deletedId()) + ":" +
+                millis(watermark.issuedAt()));
+    }
+
+    public static Watermark decodeWatermark(String watermark) {
+        String[] parts = unwrap(watermark, WATERMARK_PREFIX, 6);
+        try {
+            return new Watermark(time(parts[1]), id(parts[2]), time(parts[3]), id(parts[4]), time(parts[5]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid watermark", e);
+        }
+    }
+
+    private static String millis(LocalDateTime time) {
+        return time != null ? Long.toString(Timestamp.valueOf(time).getTime()) : NONE;
+    }
+
+    private static String orNone(Long id) {
+        return id != null ? id.toString() : NONE;
+    }
+
+    private static LocalDateTime time(String part) {
+        return part.equals(NONE) ? null : new Timestamp(Long.parseLong(part)).toLocalDateTime();
+    }
+
+    private static Long id(String part) {
+        return part.equals(NONE) ? null : Long.valueOf(part);
+    }
+
+    private static String wrap(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String[] unwrap(String cursor, String expectedPrefix) {
+        return unwrap(cursor, expectedPrefix, 3);
+    }
+
+    private static String[] unwrap(String cursor, String expectedPrefix, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        String[] parts = raw.split(":");
+        if (parts.length != expectedParts || !parts[0].equals(expectedPrefix)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+}
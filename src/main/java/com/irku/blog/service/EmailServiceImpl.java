@@ -1,15 +1,16 @@
 package com.irku.blog.service;
 
+import com.irku.blog.entity.ContactOutboxMessage;
 import com.irku.blog.entity.ContactRequest;
+import com.irku.blog.repository.ContactOutboxRepository;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    private final ContactOutboxRepository outboxRepository;
 
     @Value("${contact.to.email}")
     private String toEmail;
@@ -17,24 +18,18 @@ public class EmailServiceImpl implements EmailService {
     @Value("${spring.application.name:Website}")
     private String appName;
 
-    public EmailServiceImpl(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailServiceImpl(ContactOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
     }
 
+    // Queue the email in the outbox; ContactOutboxDispatcher delivers it in the background
     @Override
+    @Transactional
     public void sendContactEmail(ContactRequest request) {
         String subject = "[Contact] " + request.getSubject();
         String body = buildBody(request);
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(toEmail);
-        message.setSubject(subject);
-        message.setText(body);
-        message.setReplyTo(request.getEmail());
-        // Optional: set from if your SMTP requires/permits it
-        // message.setFrom(toEmail);
-
-        mailSender.send(message);
+        outboxRepository.save(new ContactOutboxMessage(toEmail, request.getEmail(), subject, body));
     }
 
     private String buildBody(ContactRequest r) {
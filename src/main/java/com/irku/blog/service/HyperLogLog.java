@@ -0,0 +1,230 @@
+package com.irku.blog.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct 64-bit hashes offered to it.
+ * Uses 2^12 one-byte registers, about 1.6% standard error, so a dense sketch is 4 KiB no matter how
+ * many values it has seen. Small sketches keep their (register, rank) pairs in an open-addressing
+ * table keyed by register, so an update is one probe either way, and switch to the dense registers
+ * once the table would be as large. Both forms serialize the pairs in register order while that is
+ * smaller than the registers, so equal sketches always have equal bytes. Not thread-safe.
+ */
+public final class HyperLogLog {
+
+    static final int PRECISION = 12;
+    static final int REGISTERS = 1 << PRECISION;
+
+    private static final byte DENSE = 0;
+    private static final byte SPARSE = 1;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    // A sparse entry is register << 8 | rank, never 0 since ranks start at 1; stored in 3 bytes when serialized
+    private static final int SERIALIZED_SPARSE_LIMIT = REGISTERS / 3;
+
+    // Table slots of 4 bytes, at most half full; at this size the table takes as much memory as the registers
+    private static final int SPARSE_CAPACITY_LIMIT = REGISTERS / 4;
+
+    private int[] sparse = new int[16];
+    private int sparseSize;
+    private byte[] dense;
+
+    // Record a hash; the bits must be uniformly distributed, see hash(String)
+    public void offer(long hash) {
+        int register = (int) (hash >>> (64 - PRECISION));
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        set(register, rank);
+    }
+
+    // Fold another sketch into this one; the result estimates the union of both
+    public void merge(HyperLogLog other) {
+        if (other.dense != null) {
+            for (int register = 0; register < REGISTERS; register++) {
+                if (other.dense[register] != 0) {
+                    set(register, other.dense[register]);
+                }
+            }
+        } else {
+            for (int entry : other.sparse) {
+                if (entry != 0) {
+                    set(entry >>> 8, entry & 0xFF);
+                }
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return dense == null && sparseSize == 0;
+    }
+
+    // Estimated number of distinct hashes offered
+    public long estimate() {
+        int zeros;
+        double sum;
+        if (dense == null) {
+            zeros = REGISTERS - sparseSize;
+            sum = zeros;
+            for (int entry : sparse) {
+                if (entry != 0) {
+                    sum += Math.scalb(1.0, -(entry & 0xFF));
+                }
+            }
+        } else {
+            zeros = 0;
+            sum = 0;
+            for (byte rank : dense) {
+                if (rank == 0) {
+                    zeros++;
+                }
+                sum += Math.scalb(1.0, -rank);
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        // Small cardinalities are estimated far better by the share of empty registers
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    // Compact form for storage: a format byte followed by the pairs or the registers
+    public byte[] toBytes() {
+        int[] entries;
+        if (dense != null) {
+            int used = 0;
+            for (byte rank : dense) {
+                if (rank != 0) {
+                    used++;
+                }
+            }
+            if (used >= SERIALIZED_SPARSE_LIMIT) {
+                byte[] bytes = new byte[1 + REGISTERS];
+                bytes[0] = DENSE;
+                System.arraycopy(dense, 0, bytes, 1, REGISTERS);
+                return bytes;
+            }
+            entries = new int[used];
+            int i = 0;
+            for (int register = 0; register < REGISTERS; register++) {
+                if (dense[register] != 0) {
+                    entries[i++] = register << 8 | dense[register];
+                }
+            }
+        } else {
+            entries = new int[sparseSize];
+            int i = 0;
+            for (int entry : sparse) {
+                if (entry != 0) {
+                    entries[i++] = entry;
+                }
+            }
+            Arrays.sort(entries);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 3 * entries.length).put(SPARSE);
+        for (int entry : entries) {
+            buffer.putShort((short) (entry >>> 8)).put((byte) entry);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Read a sketch written by {@link #toBytes()}.
+     *
+     * @throws IllegalArgumentException if the bytes are not a serialized sketch
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes.length == 1 + REGISTERS && bytes[0] == DENSE) {
+            sketch.dense = Arrays.copyOfRange(bytes, 1, bytes.length);
+            return sketch;
+        }
+        if (bytes.length % 3 != 1 || bytes[0] != SPARSE) {
+            throw new IllegalArgumentException("Not a HyperLogLog sketch");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        while (buffer.hasRemaining()) {
+            int register = buffer.getShort() & 0xFFFF;
+            int rank = buffer.get() & 0xFF;
+            if (register >= REGISTERS) {
+                throw new IllegalArgumentException("Not a HyperLogLog sketch");
+            }
+            sketch.set(register, rank);
+        }
+        return sketch;
+    }
+
+    // 64-bit FNV-1a followed by the MurmurHash3 finalizer, so every output bit depends on every input char
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void set(int register, int rank) {
+        if (dense != null) {
+            if (rank > dense[register]) {
+                dense[register] = (byte) rank;
+            }
+            return;
+        }
+        int slot = find(sparse, register);
+        int entry = sparse[slot];
+        if (entry != 0) {
+            if (rank > (entry & 0xFF)) {
+                sparse[slot] = register << 8 | rank;
+            }
+            return;
+        }
+        if (2 * (sparseSize + 1) > sparse.length) {
+            if (sparse.length == SPARSE_CAPACITY_LIMIT) {
+                toDense();
+                dense[register] = (byte) rank;
+                return;
+            }
+            grow();
+            slot = find(sparse, register);
+        }
+        sparse[slot] = register << 8 | rank;
+        sparseSize++;
+    }
+
+    // Slot holding the register, or the empty slot where it belongs; linear probing from a mixed start
+    private static int find(int[] table, int register) {
+        int mask = table.length - 1;
+        int slot = (register * 0x9E3779B9) >>> 16 & mask;
+        while (table[slot] != 0 && table[slot] >>> 8 != register) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] table = new int[sparse.length * 2];
+        for (int entry : sparse) {
+            if (entry != 0) {
+                table[find(table, entry >>> 8)] = entry;
+            }
+        }
+        sparse = table;
+    }
+
+    private void toDense() {
+        dense = new byte[REGISTERS];
+        for (int entry : sparse) {
+            if (entry != 0) {
+                dense[entry >>> 8] = (byte) (entry & 0xFF);
+            }
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+}
@@ -0,0 +1,476 @@
+package com.irku.blog.service;
+
+import com.irku.blog.dto.BlogSummaryDto;
+import com.irku.blog.entity.BlogStatus;
+import com.irku.blog.repository.BlogRepository;
+import com.irku.blog.repository.BlogViewBucketRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * In-memory ranking of published blogs by views, all-time and over sliding windows.
+ * View counts are seeded once from the database and then follow the view count flushes, so
+ * the view path only touches the lock-free counters of ViewCountBuffer and rankings move once
+ * per flush. Each ranking keeps only its top entries in order, and a blog enters when its
+ * count passes the last member. Window counts come from a ring of hourly buckets; an expiring
+ * hour is subtracted from the running totals.
+ * Serving a ranking never touches the database. The order is as of the last flush, but the counts
+ * served include the views not flushed yet, so they match the blog's own read. Summaries of blogs
+ * that entered a ranking are loaded on the flush and tick schedule; until then the blog is left
+ * out of the results.
+ * Window counts are reloaded from the persisted hourly view buckets on start. The rankings have a
+ * version of their own, so responses built from them can be validated without the catalog version
+ * moving on every flush.
+ */
+@Component
+public class PopularityIndex {
+
+    // Length of the hourly ring; covers the longest window
+    private static final int HOURS = 168;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    // Highest count first, newest blog first on ties
+    private static final Comparator<Ranked> RANKING = Comparator.comparingLong(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::id).reversed());
+
+    private final BlogRepository blogRepository;
+    private final BlogViewBucketRepository viewBucketRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final TransactionTemplate readTransaction;
+    private final int capacity;
+    private final long minViews;
+
+    // All-time views of every published blog as of the last flush
+    private final Map<Long, Tally> totals = new HashMap<>();
+    private final TopK popular;
+
+    // Views per blog for each of the last HOURS hours, and the hour each slot currently holds
+    @SuppressWarnings("unchecked")
+    private final Map<Long, Tally>[] buckets = new Map[HOURS];
+    private final long[] bucketHours = new long[HOURS];
+    private long currentHour = currentHour();
+
+    private final Map<Window, Map<Long, Tally>> windowTotals = new EnumMap<>(Window.class);
+    private final Map<Window, TopK> trending = new EnumMap<>(Window.class);
+
+    // Summaries of the blogs that are a member of at least one ranking
+    private final Map<Long, BlogSummaryDto> summaries = new HashMap<>();
+
+    // Bumped whenever a ranking or a count it serves may have changed; written under the monitor
+    private volatile long version;
+
+    public PopularityIndex(BlogRepository blogRepository,
+                           BlogViewBucketRepository viewBucketRepository,
+                           ViewCountBuffer viewCountBuffer,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${blog.popularity.capacity:100}") int capacity,
+                           @Value("${blog.popularity.min-views:10}") long minViews) {
+        this.blogRepository = blogRepository;
+        this.viewBucketRepository = viewBucketRepository;
+        this.viewCountBuffer = viewCountBuffer;
+        // Read-only, so the loads go to the reader pool instead of queueing for the writer
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.capacity = capacity;
+        this.minViews = minViews;
+        this.popular = new TopK(capacity);
+        for (Window window : Window.values()) {
+            windowTotals.put(window, new HashMap<>());
+            trending.put(window, new TopK(capacity));
+        }
+        for (int slot = 0; slot < HOURS; slot++) {
+            bucketHours[slot] = -1;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        loadWindows();
+        reseed();
+    }
+
+    // Reload all-time counts from the database, e.g. after a bulk load
+    public void reseed() {
+        // No flush may commit between reading the counts and replacing the totals, or its views would be lost
+        viewCountBuffer.withoutFlush(() -> {
+            List<Object[]> rows =
+                    readTransaction.execute(status -> blogRepository.findViewCounts(BlogStatus.PUBLISHED));
+            synchronized (this) {
+                totals.clear();
+                for (Object[] row : rows) {
+                    totals.put((Long) row[0], new Tally(row[1] != null ? ((Number) row[1]).longValue() : 0L));
+                }
+                popular.rebuild(totals);
+                // Trending only knows blogs that are still published
+                windowTotals.values().forEach(counts -> counts.keySet().retainAll(totals.keySet()));
+                trending.forEach((window, top) -> top.rebuild(windowTotals.get(window)));
+                summaries.clear();
+                version++;
+            }
+        });
+        loadMissingSummaries();
+    }
+
+    // Fill the ring and window totals with the hourly view buckets of the last HOURS hours
+    private void loadWindows() {
+        long hour = currentHour();
+        List<BlogViewBucketRepository.Bucket> rows =
+                readTransaction.execute(status -> viewBucketRepository.findSince(hour - HOURS + 1));
+        synchronized (this) {
+            currentHour = hour;
+            for (BlogViewBucketRepository.Bucket row : rows) {
+                if (row.hour() > hour) {
+                    continue;
+                }
+                bucket(row.hour()).computeIfAbsent(row.blogId(), k -> new Tally(0)).views += row.views();
+                for (Window window : Window.values()) {
+                    if (row.hour() > hour - window.hours) {
+                        windowTotals.get(window).computeIfAbsent(row.blogId(), k -> new Tally(0)).views += row.views();
+                    }
+                }
+            }
+        }
+    }
+
+    // Flushed views move the rankings, counted in the hour of the flush
+    @EventListener
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        synchronized (this) {
+            // Entering a new hour rebuilds the trending rankings, which may admit blogs too
+            advance(currentHour());
+            event.views().forEach((id, views) -> {
+                Tally total = totals.get(id);
+                if (total == null) {
+                    return;
+                }
+                total.views += views;
+                popular.offer(id, total.views);
+                bucket(currentHour).computeIfAbsent(id, k -> new Tally(0)).views += views;
+                for (Window window : Window.values()) {
+                    Tally inWindow = windowTotals.get(window).computeIfAbsent(id, k -> new Tally(0));
+                    inWindow.views += views;
+                    trending.get(window).offer(id, inWindow.views);
+                }
+            });
+            retainSummaries();
+            // Keeps the summaries of ranked blogs current
+            event.uniqueViews().forEach((id, count) -> {
+                BlogSummaryDto summary = summaries.get(id);
+                if (summary != null) {
+                    summary.setUniqueViews(count);
+                }
+            });
+            version++;
+        }
+        loadMissingSummaries();
+    }
+
+    /**
+     * A blog was created or updated.
+     *
+     * @param summary current state of the blog; its view count is only used for a blog that is new to the index
+     */
+    public void onChanged(BlogSummaryDto summary) {
+        if (summary.getStatus() != BlogStatus.PUBLISHED) {
+            onDeleted(summary.getId());
+            return;
+        }
+        boolean admitted;
+        synchronized (this) {
+            Tally total = totals.get(summary.getId());
+            if (total == null) {
+                // Views still buffered arrive with the next flush
+                total = new Tally(summary.getViewCount() != null ? summary.getViewCount() : 0L);
+                totals.put(summary.getId(), total);
+            }
+            admitted = popular.offer(summary.getId(), total.views);
+            if (admitted || isMember(summary.getId())) {
+                // The view count of the summary is replaced by the flushed total when serving
+                summaries.put(summary.getId(), summary);
+            }
+            if (admitted) {
+                retainSummaries();
+            }
+            version++;
+        }
+    }
+
+    // A blog was deleted or is no longer published
+    public void onDeleted(Long id) {
+        synchronized (this) {
+            if (totals.remove(id) == null) {
+                return;
+            }
+            // Also drop its hourly counts, so they are not subtracted again when the hours expire
+            for (Map<Long, Tally> bucket : buckets) {
+                if (bucket != null) {
+                    bucket.remove(id);
+                }
+            }
+            // A member leaves a gap that the next best blog fills
+            if (popular.remove(id)) {
+                popular.rebuild(totals);
+            }
+            for (Window window : Window.values()) {
+                Map<Long, Tally> counts = windowTotals.get(window);
+                counts.remove(id);
+                if (trending.get(window).remove(id)) {
+                    trending.get(window).rebuild(counts);
+                }
+            }
+            summaries.remove(id);
+            retainSummaries();
+            version++;
+        }
+        // Blogs moving up into the gap get their summary on the next flush or tick
+    }
+
+    // Changes whenever popular() or trending() may return something else
+    public long version() {
+        return version;
+    }
+
+    // Most viewed published blogs with at least blog.popularity.min-views views, ranked as of the last
+    // flush; each view count includes the blog's views not flushed yet
+    public List<BlogSummaryDto> popular(int limit) {
+        synchronized (this) {
+            return ranked(popular, limit, minViews);
+        }
+    }
+
+    // Published blogs with the most views in the window, ranked as of the last flush or tick; like
+    // popular(), each view count includes the blog's views not flushed yet
+    public List<BlogSummaryDto> trending(Window window, int limit) {
+        synchronized (this) {
+            return ranked(trending.get(window), limit, 1);
+        }
+    }
+
+    // Expires the oldest hour of each window even when no views arrive, and loads summaries still missing
+    @Scheduled(fixedDelayString = "${blog.popularity.tick-ms:60000}")
+    public void tick() {
+        synchronized (this) {
+            advance(currentHour());
+        }
+        loadMissingSummaries();
+    }
+
+    private List<BlogSummaryDto> ranked(TopK top, int limit, long threshold) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        List<BlogSummaryDto> result = new ArrayList<>(Math.min(limit, capacity));
+        for (Ranked ranked : top.order) {
+            if (result.size() >= limit || ranked.score() < threshold) {
+                break;
+            }
+            BlogSummaryDto summary = summaries.get(ranked.id());
+            Tally total = totals.get(ranked.id());
+            // Blogs that just entered are left out until their summary is loaded
+            if (summary != null && total != null) {
+                result.add(withViews(summary, total.views + viewCountBuffer.pending(ranked.id())));
+            }
+        }
+        return result;
+    }
+
+    // Move the ring to the given hour, subtracting the hours that fall out of each window
+    private void advance(long hour) {
+        if (hour <= currentHour) {
+            return;
+        }
+        for (Window window : Window.values()) {
+            // Hours that were inside the window before and are not anymore; older ones are no longer in the ring
+            long from = Math.max(currentHour - window.hours + 1, currentHour - HOURS + 1);
+            long to = Math.min(hour - window.hours, currentHour);
+            Map<Long, Tally> counts = windowTotals.get(window);
+            for (long h = from; h <= to; h++) {
+                int slot = slot(h);
+                if (bucketHours[slot] == h && buckets[slot] != null) {
+                    buckets[slot].forEach((id, expired) -> counts.computeIfPresent(id, (k, tally) -> {
+                        tally.views -= expired.views;
+                        return tally.views > 0 ? tally : null;
+                    }));
+                }
+            }
+            trending.get(window).rebuild(counts);
+        }
+        for (long h = Math.max(currentHour + 1, hour - HOURS + 1); h <= hour; h++) {
+            buckets[slot(h)] = null;
+            bucketHours[slot(h)] = h;
+        }
+        currentHour = hour;
+        retainSummaries();
+        version++;
+    }
+
+    private Map<Long, Tally> bucket(long hour) {
+        int slot = slot(hour);
+        if (buckets[slot] == null) {
+            buckets[slot] = new HashMap<>();
+            bucketHours[slot] = hour;
+        }
+        return buckets[slot];
+    }
+
+    // Fetch summaries of ranking members that do not have one yet, outside the lock
+    private void loadMissingSummaries() {
+        Set<Long> missing = new HashSet<>();
+        synchronized (this) {
+            collectMembers(missing);
+            missing.removeAll(summaries.keySet());
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<BlogSummaryDto> loaded = readTransaction.execute(status -> blogRepository.findSummariesByIds(missing));
+        synchronized (this) {
+            for (BlogSummaryDto summary : loaded) {
+                // A write may have stored a newer summary in the meantime
+                if (isMember(summary.getId())) {
+                    if (summaries.putIfAbsent(summary.getId(), summary) == null) {
+                        // The blog is served from now on
+                        version++;
+                    }
+                }
+            }
+        }
+    }
+
+    // Drop summaries of blogs that left every ranking
+    private void retainSummaries() {
+        Set<Long> members = new HashSet<>();
+        collectMembers(members);
+        summaries.keySet().retainAll(members);
+    }
+
+    private void collectMembers(Collection<Long> into) {
+        into.addAll(popular.members.keySet());
+        trending.values().forEach(top -> into.addAll(top.members.keySet()));
+    }
+
+    private boolean isMember(Long id) {
+        return popular.members.containsKey(id)
+                || trending.values().stream().anyMatch(top -> top.members.containsKey(id));
+    }
+
+    private static BlogSummaryDto withViews(BlogSummaryDto summary, long views) {
+        return new BlogSummaryDto(summary.getId(), summary.getTitle(), summary.getExcerpt(), summary.getAuthor(),
+                summary.getFeaturedImageUrl(), summary.getSlug(), summary.getStatus(), views,
+                summary.getUniqueViews(), summary.getIsFeatured(), summary.getPublishedAt(), summary.getUpdatedAt());
+    }
+
+    private static int slot(long hour) {
+        return (int) (hour % HOURS);
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / HOUR_MILLIS;
+    }
+
+    /**
+     * Sliding windows for trending rankings.
+     */
+    public enum Window {
+        DAY("24h", 24),
+        WEEK("7d", 168);
+
+        private final String param;
+        private final int hours;
+
+        Window(String param, int hours) {
+            this.param = param;
+            this.hours = hours;
+        }
+
+        // Parse the request parameter form, e.g. "24h" or "7d"
+        public static Window fromParam(String param) {
+            for (Window window : values()) {
+                if (window.param.equalsIgnoreCase(param)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Unknown window: " + param);
+        }
+
+        public String param() {
+            return param;
+        }
+    }
+
+    // Mutable count, so a view does not box a new Long
+    private static final class Tally {
+
+        private long views;
+
+        Tally(long views) {
+            this.views = views;
+        }
+    }
+
+    private record Ranked(long id, long score) {
+    }
+
+    // The best capacity blogs by score, kept in ranking order
+    private static final class TopK {
+
+        private final int capacity;
+        private final TreeSet<Ranked> order = new TreeSet<>(RANKING);
+        private final Map<Long, Ranked> members = new HashMap<>();
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+        }
+
+        // Apply an increased score; returns true if the blog was not a member before and is now
+        boolean offer(long id, long score) {
+            Ranked ranked = new Ranked(id, score);
+            Ranked current = members.get(id);
+            if (current != null) {
+                order.remove(current);
+                order.add(ranked);
+                members.put(id, ranked);
+                return false;
+            }
+            if (members.size() >= capacity) {
+                Ranked last = order.last();
+                if (RANKING.compare(ranked, last) >= 0) {
+                    return false;
+                }
+                order.pollLast();
+                members.remove(last.id());
+            }
+            order.add(ranked);
+            members.put(id, ranked);
+            return true;
+        }
+
+        boolean remove(long id) {
+            Ranked current = members.remove(id);
+            return current != null && order.remove(current);
+        }
+
+        // Recompute membership from scratch, after scores went down or a member left
+        void rebuild(Map<Long, Tally> scores) {
+            order.clear();
+            members.clear();
+            scores.forEach((id, tally) -> offer(id, tally.views));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.irku.blog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized response bodies for hot list endpoints.
+ * Each snapshot holds the JSON bytes and a gzip-encoded copy, built once per catalog
+ * version and variant and reused until either changes, so requests skip Jackson and compression.
+ * The variant covers state a response depends on besides the catalog, e.g. the rankings.
+ * Requests that find the same snapshot stale at the same time share one rebuild.
+ * Brotli is not kept: the JDK has no Brotli encoder and the snapshots stay dependency-free.
+ */
+@Component
+public class ResponseSnapshots {
+
+    // Bounds the number of parameter combinations (e.g. limit values) kept in memory
+    private static final int MAX_SNAPSHOTS = 64;
+
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final SingleFlight<Rebuild, Snapshot> rebuilds;
+
+    public ResponseSnapshots(ObjectMapper objectMapper, CatalogVersion catalogVersion, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+        this.rebuilds = new SingleFlight<>("snapshot", meterRegistry);
+    }
+
+    // Current snapshot for the key, rebuilt from the loader if the catalog changed since
+    public Snapshot get(String key, Supplier<?> loader) {
+        return get(key, null, loader);
+    }
+
+    /**
+     * Current snapshot for the key, rebuilt from the loader if the catalog or the variant changed since.
+     *
+     * @param variant identifies other state the body depends on, read before loading; null if none
+     */
+    public Snapshot get(String key, String variant, Supplier<?> loader) {
+        // Read the version before loading so a concurrent write makes this snapshot stale
+        long version = catalogVersion.current();
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.version() == version && Objects.equals(snapshot.variant(), variant)) {
+            return snapshot;
+        }
+        snapshot = rebuilds.load(new Rebuild(key, version, variant), () -> build(version, variant, loader.get()));
+        if (snapshots.size() < MAX_SNAPSHOTS || snapshots.containsKey(key)) {
+            snapshots.put(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    private Snapshot build(long version, String variant, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(json);
+            }
+            return new Snapshot(version, variant, json, buffer.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build response snapshot", e);
+        }
+    }
+
+    private record Rebuild(String key, long version, String variant) {
+    }
+
+    /**
+     * Encoded forms of one response body.
+     *
+     * @param version catalog version the body was built from
+     * @param variant variant the body was built for, or null
+     * @param json    identity-encoded JSON
+     * @param gzip    gzip-encoded JSON
+     */
+    public record Snapshot(long version, String variant, byte[] json, byte[] gzip) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.irku.blog.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key.
+ * The first caller for a key runs the loader; callers arriving while it runs wait for it and get
+ * the same result (or exception) instead of loading again. Nothing is kept once the load finishes,
+ * so keys should include whatever version the result depends on: a caller that arrives after a
+ * write must not join a load that started before it.
+ * Counted as blog.singleflight.calls{name, result=loaded|coalesced}.
+ *
+ * @param <K> key type, with value equality
+ * @param <V> result type; results are shared between callers and must not be modified
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loaded = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("blog.singleflight.calls", loaded, LongAdder::sum)
+                .description("Loads run or joined through single-flight")
+                .tag("name", name).tag("result", "loaded").register(meterRegistry);
+        FunctionCounter.builder("blog.singleflight.calls", coalesced, LongAdder::sum)
+                .description("Loads run or joined through single-flight")
+                .tag("name", name).tag("result", "coalesced").register(meterRegistry);
+    }
+
+    // Run the loader, or wait for the run already in progress for the key
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        loaded.increment();
+        try {
+            V value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    // Rethrow the leader's exception as it was thrown, not wrapped
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
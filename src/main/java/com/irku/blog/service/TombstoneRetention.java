@@ -0,0 +1,49 @@
+package com.irku.blog.service;
+
+import com.irku.blog.repository.BlogTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps tombstones of deleted blogs for a fixed period.
+ * A change feed watermark older than that period may have missed deletes, so clients holding one
+ * are told to resync instead.
+ */
+@Component
+public class TombstoneRetention {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstoneRetention.class);
+
+    private final BlogTombstoneRepository tombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+
+    public TombstoneRetention(BlogTombstoneRepository tombstoneRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${blog.sync.tombstone-retention-days:90}") int retentionDays) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+    }
+
+    // Watermarks issued before this instant can no longer be served incrementally
+    public LocalDateTime horizon(LocalDateTime now) {
+        return now.minusDays(retentionDays);
+    }
+
+    @Scheduled(cron = "${blog.sync.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        LocalDateTime before = horizon(LocalDateTime.now());
+        Integer removed = transactionTemplate.execute(status -> tombstoneRepository.deleteDeletedBefore(before));
+        if (removed != null && removed > 0) {
+            log.info("Purged {} blog tombstones", removed);
+        }
+    }
+}
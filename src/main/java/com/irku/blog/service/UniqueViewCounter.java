@@ -0,0 +1,164 @@
+package com.irku.blog.service;
+
+import com.irku.blog.repository.BlogVisitorSketchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts distinct visitors of each blog per day with HyperLogLog sketches.
+ * Visitors seen since the last flush are collected in one sketch per blog and day; a flush merges those
+ * into the stored sketch of the day and moves blogs.unique_views by the change of its estimate, so a
+ * visitor counts once per blog per day however often they reload. Memory stays at one sketch, at most
+ * 4 KiB, per blog viewed since the last flush, and a flush of visitors already counted writes nothing.
+ * Flushing is driven by ViewCountBuffer, so view counts and unique counts share a commit and one
+ * ViewCountsFlushedEvent.
+ */
+@Component
+public class UniqueViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(UniqueViewCounter.class);
+
+    private final BlogVisitorSketchRepository sketchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+
+    // Visitors recorded since the last flush
+    private final Map<Key, Visitors> pending = new ConcurrentHashMap<>();
+
+    public UniqueViewCounter(BlogVisitorSketchRepository sketchRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${blog.views.sketch-retention-days:30}") int retentionDays) {
+        this.sketchRepository = sketchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+    }
+
+    // Hash identifying a visitor; only its bits end up in a sketch, never the address itself
+    public static long fingerprint(String remoteAddress, String userAgent) {
+        return HyperLogLog.hash(remoteAddress + '\n' + (userAgent != null ? userAgent : ""));
+    }
+
+    // Record a view of a blog by the visitor with the given fingerprint
+    public void record(Long blogId, long visitor) {
+        Key key = new Key(blogId, LocalDate.now().toEpochDay());
+        while (true) {
+            // Only the sketch of this blog and day is locked, and only for one register update
+            Visitors visitors = pending.computeIfAbsent(key, k -> new Visitors());
+            synchronized (visitors) {
+                if (!visitors.drained) {
+                    visitors.sketch.offer(visitor);
+                    return;
+                }
+            }
+            // A flush took this sketch in the meantime; the next one gets a fresh sketch
+        }
+    }
+
+    // Drop recorded visitors of a blog that no longer exists
+    public void discard(Long blogId) {
+        pending.keySet().removeIf(key -> key.blogId().equals(blogId));
+    }
+
+    // Take the visitors recorded so far; called by ViewCountBuffer.flush
+    Map<Key, HyperLogLog> drain() {
+        Map<Key, HyperLogLog> batch = new HashMap<>();
+        for (Key key : pending.keySet()) {
+            Visitors visitors = pending.remove(key);
+            if (visitors != null) {
+                synchronized (visitors) {
+                    // Waits for an update in progress; later ones see the flag and start a new sketch
+                    visitors.drained = true;
+                }
+                batch.put(key, visitors.sketch);
+            }
+        }
+        return batch;
+    }
+
+    // Put back a batch whose flush failed, so it is retried on the next flush
+    void restore(Map<Key, HyperLogLog> batch) {
+        batch.forEach((key, sketch) -> {
+            while (true) {
+                Visitors visitors = pending.computeIfAbsent(key, k -> new Visitors());
+                synchronized (visitors) {
+                    if (!visitors.drained) {
+                        visitors.sketch.merge(sketch);
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    // Days past the retention are never merged into again
+    @Scheduled(cron = "${blog.views.sketch-purge-cron:0 45 3 * * *}")
+    public void purge() {
+        long before = LocalDate.now().minusDays(retentionDays).toEpochDay();
+        Integer removed = transactionTemplate.execute(status -> sketchRepository.deleteBefore(before));
+        if (removed != null && removed > 0) {
+            log.info("Purged {} daily visitor sketches", removed);
+        }
+    }
+
+    // Merge the batch into the stored sketches inside the flush transaction;
+    // returns the new unique view count of every blog it changed
+    Map<Long, Long> apply(Map<Key, HyperLogLog> batch) {
+        Map<Long, Map<Long, HyperLogLog>> byDay = new HashMap<>();
+        batch.forEach((key, sketch) -> byDay.computeIfAbsent(key.day(), day -> new HashMap<>())
+                .put(key.blogId(), sketch));
+
+        Map<Long, Long> uniqueViews = new HashMap<>();
+        byDay.forEach((day, sketches) -> {
+            Map<Long, BlogVisitorSketchRepository.Stored> stored = sketchRepository.find(day, sketches.keySet());
+            Map<Long, byte[]> merged = new HashMap<>();
+            sketches.forEach((blogId, visitors) -> {
+                BlogVisitorSketchRepository.Stored current = stored.get(blogId);
+                if (current == null) {
+                    return; // Deleted in the meantime
+                }
+                HyperLogLog sketch = current.sketch() != null
+                        ? HyperLogLog.fromBytes(current.sketch()) : new HyperLogLog();
+                long before = sketch.estimate();
+                sketch.merge(visitors);
+                byte[] bytes = sketch.toBytes();
+                if (Arrays.equals(bytes, current.sketch())) {
+                    return; // Only visitors already counted that day
+                }
+                merged.put(blogId, bytes);
+                long delta = sketch.estimate() - before;
+                if (delta != 0) {
+                    // A blog with visitors on two days (a flush across midnight) is moved twice
+                    uniqueViews.merge(blogId, current.uniqueViews() + delta, (first, second) -> first + delta);
+                }
+            });
+            if (!merged.isEmpty()) {
+                sketchRepository.saveSketches(day, merged);
+            }
+        });
+        if (!uniqueViews.isEmpty()) {
+            sketchRepository.saveUniqueViews(uniqueViews);
+        }
+        return uniqueViews;
+    }
+
+    record Key(Long blogId, long day) {
+    }
+
+    // Sketch of one blog and day; drained once a flush has taken it
+    private static final class Visitors {
+
+        private final HyperLogLog sketch = new HyperLogLog();
+        private boolean drained;
+    }
+}
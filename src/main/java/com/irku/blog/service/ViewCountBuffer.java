@@ -0,0 +1,134 @@
+package com.irku.blog.service;
+
+import com.irku.blog.repository.BlogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for blog view counts.
+ * Views are counted in memory per blog and written to the database in one batch
+ * on a fixed schedule and on shutdown, so reading a post never turns into a write.
+ * The visitors collected by UniqueViewCounter are written in the same transaction.
+ */
+@Component
+public class ViewCountBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewCountBuffer.class);
+
+    private final BlogRepository blogRepository;
+    private final BlogWriteQueue blogWriteQueue;
+    private final UniqueViewCounter uniqueViewCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter viewCounter;
+
+    // Views recorded since the last flush
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Views drained by a flush that is still being written
+    private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+
+    public ViewCountBuffer(BlogRepository blogRepository,
+                           BlogWriteQueue blogWriteQueue,
+                           UniqueViewCounter uniqueViewCounter,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry) {
+        this.blogRepository = blogRepository;
+        this.blogWriteQueue = blogWriteQueue;
+        this.uniqueViewCounter = uniqueViewCounter;
+        this.eventPublisher = eventPublisher;
+        this.viewCounter = Counter.builder("blog.views")
+                .description("Blog views recorded")
+                .register(meterRegistry);
+    }
+
+    // Record a single view for a blog
+    public void increment(Long blogId) {
+        pending.computeIfAbsent(blogId, id -> new LongAdder()).increment();
+        viewCounter.increment();
+    }
+
+    // Views for a blog that are not yet visible in the database
+    public long pending(Long blogId) {
+        LongAdder adder = pending.get(blogId);
+        long buffered = adder != null ? adder.sum() : 0L;
+        return buffered + inFlight.getOrDefault(blogId, 0L);
+    }
+
+    // Views for all blogs that are not yet visible in the database
+    public long pendingTotal() {
+        long total = 0L;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        for (Long delta : inFlight.values()) {
+            total += delta;
+        }
+        return total;
+    }
+
+    // Drop buffered views for a blog that no longer exists
+    public void discard(Long blogId) {
+        pending.remove(blogId);
+    }
+
+    // Run an action that no flush may interleave with; flushes wait until it is done
+    public synchronized void withoutFlush(Runnable action) {
+        action.run();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> batch = drain();
+        Map<UniqueViewCounter.Key, HyperLogLog> visitors = uniqueViewCounter.drain();
+        if (batch.isEmpty() && visitors.isEmpty()) {
+            return;
+        }
+        inFlight.putAll(batch);
+        Map<Long, Long> uniqueViews;
+        try {
+            // Goes through the write queue so the flush shares a commit with concurrent blog writes
+            uniqueViews = blogWriteQueue.submit(() -> {
+                batch.forEach(blogRepository::addViews);
+                return uniqueViewCounter.apply(visitors);
+            }).join();
+        } catch (RuntimeException e) {
+            // Put the views and visitors back so they are retried on the next flush
+            log.warn("Failed to flush view counts for {} blogs, will retry", batch.size(), e);
+            batch.forEach((id, delta) -> pending.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+            uniqueViewCounter.restore(visitors);
+            return;
+        } finally {
+            inFlight.clear();
+        }
+        if (!batch.isEmpty() || !uniqueViews.isEmpty()) {
+            eventPublisher.publishEvent(new ViewCountsFlushedEvent(Map.copyOf(batch), Map.copyOf(uniqueViews)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> batch = new HashMap<>();
+        pending.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                batch.put(id, delta);
+            }
+        });
+        return batch;
+    }
+}
@@ -0,0 +1,12 @@
+package com.irku.blog.service;
+
+import java.util.Map;
+
+/**
+ * Published after a flush has committed buffered view counts and unique visitor counts to the database.
+ *
+ * @param views       views added to view_count, per blog
+ * @param uniqueViews new unique_views of each blog whose count changed
+ */
+public record ViewCountsFlushedEvent(Map<Long, Long> views, Map<Long, Long> uniqueViews) {
+}
@@ -0,0 +1,233 @@
+package com.irku.blog.service;
+
+import com.irku.blog.dto.BlogViewSeries;
+import com.irku.blog.repository.BlogViewBucketRepository;
+import com.irku.blog.repository.BlogViewBucketRepository.Bucket;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Views per blog and hour, for charting the traffic of a blog.
+ * Views are counted in memory per blog and hour and added to blog_view_buckets in one batch on the
+ * view count flush schedule. A range query reads the buckets of one blog by key and fills in empty
+ * hours or days; raw views are never stored. Hourly detail is kept for blog.views.hourly-retention-days,
+ * after which each day is rolled up into a single bucket.
+ */
+@Component
+public class ViewTimeSeries {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewTimeSeries.class);
+
+    private static final long HOUR_SECONDS = 3600L;
+
+    // Days rolled up per run, so a run after some downtime still catches up
+    private static final int ROLL_UP_DAYS = 7;
+
+    private final BlogViewBucketRepository bucketRepository;
+    private final BlogWriteQueue blogWriteQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int maxPoints;
+
+    // Views recorded since the last flush, per blog and hour
+    private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+
+    public ViewTimeSeries(BlogViewBucketRepository bucketRepository,
+                          BlogWriteQueue blogWriteQueue,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${blog.views.hourly-retention-days:90}") int retentionDays,
+                          @Value("${blog.views.max-points:1000}") int maxPoints) {
+        this.bucketRepository = bucketRepository;
+        this.blogWriteQueue = blogWriteQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Trending windows are reloaded from the last week of hourly buckets
+        this.retentionDays = Math.max(retentionDays, 8);
+        this.maxPoints = maxPoints;
+    }
+
+    // Record a single view of a blog in the current hour
+    public void record(Long blogId) {
+        pending.merge(new Key(blogId, currentHour()), 1L, Long::sum);
+    }
+
+    // Drop recorded views of a blog that no longer exists
+    public void discard(Long blogId) {
+        pending.keySet().removeIf(key -> key.blogId().equals(blogId));
+    }
+
+    /**
+     * Views of a blog per hour or day.
+     *
+     * @param from start of the range; rounded down to the hour or day
+     * @param to   end of the range (exclusive); rounded up to the hour or day
+     * @throws IllegalArgumentException if the range is empty or has more than blog.views.max-points points
+     */
+    public BlogViewSeries series(Long blogId, LocalDateTime from, LocalDateTime to, Granularity granularity) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime first;
+        LocalDateTime end;
+        long fromHour;
+        long toHour;
+        long points;
+        if (granularity == Granularity.HOUR) {
+            fromHour = Math.floorDiv(from.atZone(zone).toEpochSecond(), HOUR_SECONDS);
+            toHour = Math.ceilDiv(to.atZone(zone).toEpochSecond(), HOUR_SECONDS);
+            first = hourStart(fromHour, zone);
+            end = hourStart(toHour, zone);
+            points = toHour - fromHour;
+        } else {
+            LocalDate firstDay = from.toLocalDate();
+            LocalDate endDay = to.toLocalTime().equals(LocalTime.MIDNIGHT)
+                    ? to.toLocalDate() : to.toLocalDate().plusDays(1);
+            fromHour = dayStartHour(firstDay, zone);
+            toHour = dayStartHour(endDay, zone);
+            first = firstDay.atStartOfDay();
+            end = endDay.atStartOfDay();
+            points = ChronoUnit.DAYS.between(firstDay, endDay);
+        }
+        if (points <= 0) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (points > maxPoints) {
+            throw new IllegalArgumentException("Range has more than " + maxPoints + " points");
+        }
+
+        // Rolled-up days sit at their first hour, so they land on the right day either way
+        Map<LocalDateTime, Long> views = new HashMap<>();
+        long total = 0;
+        for (Bucket bucket : bucketRepository.findRange(blogId, fromHour, toHour)) {
+            LocalDateTime start = hourStart(bucket.hour(), zone);
+            if (granularity == Granularity.DAY) {
+                start = start.toLocalDate().atStartOfDay();
+            }
+            views.merge(start, bucket.views(), Long::sum);
+            total += bucket.views();
+        }
+
+        List<BlogViewSeries.Point> series = new ArrayList<>((int) points);
+        for (long i = 0; i < points; i++) {
+            LocalDateTime start = granularity == Granularity.HOUR
+                    ? hourStart(fromHour + i, zone) : first.plusDays(i);
+            series.add(new BlogViewSeries.Point(start, views.getOrDefault(start, 0L)));
+        }
+        return new BlogViewSeries(blogId, granularity.param(), first, end, total, series);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Bucket> batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // Goes through the write queue so the flush shares a commit with concurrent blog writes
+            blogWriteQueue.submit(() -> {
+                bucketRepository.addViews(batch);
+                return null;
+            }).join();
+        } catch (RuntimeException e) {
+            // Put the views back so they are retried on the next flush
+            log.warn("Failed to flush hourly views for {} buckets, will retry", batch.size(), e);
+            batch.forEach(bucket -> pending.merge(new Key(bucket.blogId(), bucket.hour()), bucket.views(), Long::sum));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Roll up the days that just passed the hourly retention into one bucket per blog and day
+    @Scheduled(cron = "${blog.views.roll-up-cron:0 15 3 * * *}")
+    public void rollUp() {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate firstHourly = LocalDate.now(zone).minusDays(retentionDays);
+        long fromHour = dayStartHour(firstHourly.minusDays(ROLL_UP_DAYS), zone);
+        long toHour = dayStartHour(firstHourly, zone);
+        Integer removed = transactionTemplate.execute(status -> bucketRepository.rollUp(fromHour, toHour));
+        if (removed != null && removed > 0) {
+            log.info("Rolled up {} hourly view buckets into days", removed);
+        }
+    }
+
+    private List<Bucket> drain() {
+        List<Bucket> batch = new ArrayList<>();
+        for (Key key : pending.keySet()) {
+            Long views = pending.remove(key);
+            if (views != null) {
+                batch.add(new Bucket(key.blogId(), key.hour(), views));
+            }
+        }
+        return batch;
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / (HOUR_SECONDS * 1000);
+    }
+
+    // First whole hour starting at or after local midnight; the same rule the roll-up query uses
+    private static long dayStartHour(LocalDate day, ZoneId zone) {
+        return Math.ceilDiv(day.atStartOfDay(zone).toEpochSecond(), HOUR_SECONDS);
+    }
+
+    private static LocalDateTime hourStart(long hour, ZoneId zone) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(hour * HOUR_SECONDS), zone);
+    }
+
+    private record Key(Long blogId, long hour) {
+    }
+
+    /**
+     * Point sizes of a view series.
+     */
+    public enum Granularity {
+        HOUR("hour", Duration.ofHours(24)),
+        DAY("day", Duration.ofDays(30));
+
+        private final String param;
+        private final Duration defaultRange;
+
+        Granularity(String param, Duration defaultRange) {
+            this.param = param;
+            this.defaultRange = defaultRange;
+        }
+
+        // Parse the request parameter form, e.g. "hour" or "day"
+        public static Granularity fromParam(String param) {
+            for (Granularity granularity : values()) {
+                if (granularity.param.equalsIgnoreCase(param)) {
+                    return granularity;
+                }
+            }
+            throw new IllegalArgumentException("Unknown granularity: " + param);
+        }
+
+        public String param() {
+            return param;
+        }
+
+        // Range covered when the request gives no start
+        public Duration defaultRange() {
+            return defaultRange;
+        }
+    }
+}
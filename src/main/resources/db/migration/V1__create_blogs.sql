@@ -0,0 +1,18 @@
+-- Baseline: the blogs table as previously generated by Hibernate (ddl-auto: update).
+-- Databases created before migrations existed are baselined at this version and skip it.
+CREATE TABLE IF NOT EXISTS blogs (
+    id integer,
+    author varchar(100),
+    content TEXT not null,
+    created_at timestamp not null,
+    excerpt varchar(500) unique,
+    featured_image_url varchar(255),
+    is_featured boolean,
+    published_at timestamp,
+    slug varchar(255) unique,
+    status varchar(255) not null check (status in ('DRAFT','PUBLISHED','ARCHIVED')),
+    title varchar(200) not null unique,
+    updated_at timestamp,
+    view_count bigint,
+    primary key (id)
+);
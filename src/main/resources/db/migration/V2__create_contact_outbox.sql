@@ -0,0 +1,15 @@
+-- Outbox for contact emails; may already exist on databases that ran with ddl-auto: update
+CREATE TABLE IF NOT EXISTS contact_outbox (
+    id integer,
+    attempts integer not null,
+    body TEXT not null,
+    created_at timestamp not null,
+    last_error varchar(1000),
+    next_attempt_at timestamp not null,
+    recipient varchar(255) not null,
+    reply_to varchar(255),
+    sent_at timestamp,
+    status varchar(255) not null check (status in ('PENDING','SENT','FAILED')),
+    subject varchar(500) not null,
+    primary key (id)
+);
@@ -0,0 +1,26 @@
+-- Full-text index over blogs, used by BlogSearchRepository.
+-- External-content FTS5 table kept in sync by triggers; SearchIndexMaintenance drops and
+-- recreates the same triggers around bulk loads, so keep the two definitions in step.
+CREATE VIRTUAL TABLE IF NOT EXISTS blogs_fts USING fts5(
+    title, content, excerpt, content='blogs', content_rowid='id',
+    tokenize='unicode61 remove_diacritics 2');
+
+CREATE TRIGGER IF NOT EXISTS blogs_fts_after_insert AFTER INSERT ON blogs BEGIN
+    INSERT INTO blogs_fts(rowid, title, content, excerpt)
+    VALUES (new.id, new.title, new.content, new.excerpt);
+END;
+
+CREATE TRIGGER IF NOT EXISTS blogs_fts_after_delete AFTER DELETE ON blogs BEGIN
+    INSERT INTO blogs_fts(blogs_fts, rowid, title, content, excerpt)
+    VALUES ('delete', old.id, old.title, old.content, old.excerpt);
+END;
+
+CREATE TRIGGER IF NOT EXISTS blogs_fts_after_update AFTER UPDATE OF title, content, excerpt ON blogs BEGIN
+    INSERT INTO blogs_fts(blogs_fts, rowid, title, content, excerpt)
+    VALUES ('delete', old.id, old.title, old.content, old.excerpt);
+    INSERT INTO blogs_fts(rowid, title, content, excerpt)
+    VALUES (new.id, new.title, new.content, new.excerpt);
+END;
+
+-- Index blogs written before the search index existed
+INSERT INTO blogs_fts(blogs_fts) VALUES ('rebuild');
@@ -0,0 +1,20 @@
+-- Indexes matching the filter and sort order of the BlogRepository list queries.
+-- Each one lets SQLite seek to the status and read rows already in order, instead of
+-- scanning the table and sorting it in a temporary b-tree.
+
+-- findSummariesByStatus, findSummarySlice(After), findRecentSummaries, countByStatus, countPublishedByMonth
+CREATE INDEX IF NOT EXISTS idx_blogs_status_published ON blogs (status, published_at, id);
+
+-- findFeaturedSummaries
+CREATE INDEX IF NOT EXISTS idx_blogs_status_featured_published ON blogs (status, is_featured, published_at);
+
+-- findViewCounts (covering: seeds the popularity index at startup and after bulk loads)
+CREATE INDEX IF NOT EXISTS idx_blogs_status_views ON blogs (status, view_count);
+
+-- aggregateByStatusAndAuthor (covering: answered from the index alone)
+CREATE INDEX IF NOT EXISTS idx_blogs_status_author_views ON blogs (status, author, view_count);
+
+-- ContactOutboxRepository.findDue
+CREATE INDEX IF NOT EXISTS idx_contact_outbox_status_next_attempt ON contact_outbox (status, next_attempt_at, id);
+
+ANALYZE;
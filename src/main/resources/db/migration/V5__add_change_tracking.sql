@@ -0,0 +1,33 @@
+-- Change tracking for GET /blogs/changes.
+-- Blogs are read in (updated_at, id) order from a client's watermark; deleted blogs leave a
+-- tombstone so clients learn about deletes without re-reading the whole catalog.
+
+-- Every row needs a position on the change timeline; rows that were never updated start at creation
+UPDATE blogs SET updated_at = created_at WHERE updated_at IS NULL;
+
+-- BlogRepository.findChangedSlice(After)
+CREATE INDEX IF NOT EXISTS idx_blogs_updated ON blogs (updated_at, id);
+
+CREATE TABLE IF NOT EXISTS blog_tombstones (
+    blog_id integer not null,
+    slug varchar(255),
+    deleted_at timestamp not null,
+    primary key (blog_id)
+);
+
+-- BlogTombstoneRepository.findSlice(After), deleteDeletedBefore
+CREATE INDEX IF NOT EXISTS idx_blog_tombstones_deleted ON blog_tombstones (deleted_at, blog_id);
+
+-- Recorded by trigger so every delete path leaves a tombstone. Timestamps are epoch millis,
+-- the same encoding the JDBC driver uses for the other timestamp columns
+CREATE TRIGGER IF NOT EXISTS blogs_tombstone_after_delete AFTER DELETE ON blogs BEGIN
+    INSERT OR REPLACE INTO blog_tombstones(blog_id, slug, deleted_at)
+    VALUES (old.id, old.slug, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER));
+END;
+
+-- SQLite may hand a deleted id to a new row; the row itself then supersedes the tombstone
+CREATE TRIGGER IF NOT EXISTS blogs_tombstone_after_insert AFTER INSERT ON blogs BEGIN
+    DELETE FROM blog_tombstones WHERE blog_id = new.id;
+END;
+
+ANALYZE;
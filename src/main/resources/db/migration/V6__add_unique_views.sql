@@ -0,0 +1,20 @@
+-- Unique visitor counting.
+-- Each blog has one HyperLogLog sketch per day of the visitors it had (see HyperLogLog.toBytes);
+-- blogs.unique_views is the sum of the daily estimates, so a visitor counts once per blog per day.
+
+ALTER TABLE blogs ADD COLUMN unique_views bigint not null default 0;
+
+-- day is the local date as days since 1970-01-01
+CREATE TABLE IF NOT EXISTS blog_visitor_sketches (
+    blog_id integer not null,
+    day integer not null,
+    sketch blob not null,
+    primary key (blog_id, day)
+) WITHOUT ROWID;
+
+-- UniqueViewCounter.purge
+CREATE INDEX IF NOT EXISTS idx_blog_visitor_sketches_day ON blog_visitor_sketches (day);
+
+CREATE TRIGGER IF NOT EXISTS blogs_visitor_sketches_after_delete AFTER DELETE ON blogs BEGIN
+    DELETE FROM blog_visitor_sketches WHERE blog_id = old.id;
+END;
@@ -0,0 +1,18 @@
+-- View time series for GET /blogs/{id}/views.
+-- Views are counted per blog and hour (hours since 1970-01-01 UTC). Once a day is older than
+-- blog.views.hourly-retention-days, its hours are rolled up into one row at the first hour of
+-- that local day, so old traffic costs one row per blog and day.
+
+CREATE TABLE IF NOT EXISTS blog_view_buckets (
+    blog_id integer not null,
+    hour integer not null,
+    views integer not null,
+    primary key (blog_id, hour)
+) WITHOUT ROWID;
+
+-- BlogViewBucketRepository.findSince, rollUp (covering: answered from the index alone)
+CREATE INDEX IF NOT EXISTS idx_blog_view_buckets_hour ON blog_view_buckets (hour, blog_id, views);
+
+CREATE TRIGGER IF NOT EXISTS blogs_view_buckets_after_delete AFTER DELETE ON blogs BEGIN
+    DELETE FROM blog_view_buckets WHERE blog_id = old.id;
+END;
@@ -0,0 +1,48 @@
+package com.irku.blog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the same call from many threads at once, for single-flight tests.
+ */
+public final class Concurrently {
+
+    public static final int CALLERS = 16;
+
+    private Concurrently() {
+    }
+
+    // Results of CALLERS parallel calls, in submission order
+    public static <T> List<T> run(Supplier<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(call::get));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Call from a loader to hold it until every other caller has joined the named single-flight
+    public static void awaitFollowers(MeterRegistry meterRegistry, String name) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> meterRegistry.get("blog.singleflight.calls")
+                .tag("name", name).tag("result", "coalesced").functionCounter().count() == CALLERS - 1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.irku.blog;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Points a Spring test context at a fresh SQLite file, migrated by Flyway on startup.
+ */
+public final class TestDatabase {
+
+    private TestDatabase() {
+    }
+
+    // Use from a @DynamicPropertySource method; every call gets its own empty database
+    public static void register(DynamicPropertyRegistry registry) {
+        try {
+            Path directory = Files.createTempDirectory("blog-test");
+            directory.toFile().deleteOnExit();
+            registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + directory.resolve("blog.db"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.irku.blog.repository;
+
+import com.irku.blog.TestDatabase;
+import com.irku.blog.config.QueryCountInspector;
+import com.irku.blog.entity.BlogStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every repository query must be answered from an index: EXPLAIN QUERY PLAN of each statement
+ * may not contain a full scan of the blogs or blog_tombstones table, unless the query is listed
+ * in WHOLE_TABLE with the reason it reads every row.
+ */
+@SpringBootTest
+class QueryPlanTest {
+
+    // A plain "SCAN <table or its alias>" step; scans that walk an index report "USING ... INDEX"
+    private static final Pattern TABLE_SCAN =
+            Pattern.compile("^SCAN (blogs|blog_tombstones|b|b1_0|bt1_0)( AS \\w+)?$");
+
+    // Queries that read the whole table by design
+    private static final Map<String, String> WHOLE_TABLE = Map.of(
+            "findAllSummaries", "GET /blogs/all returns every blog",
+            "streamAll", "the NDJSON export streams every blog in id order");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private BlogTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 10);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        Map<String, List<String>> statements = new LinkedHashMap<>();
+        capture(statements, "findAllSummaries", () -> blogRepository.findAllSummaries());
+        capture(statements, "streamAll", () -> transaction.executeWithoutResult(status -> {
+            try (var blogs = blogRepository.streamAll(BlogStatus.PUBLISHED)) {
+                blogs.count();
+            }
+        }));
+        capture(statements, "findSummariesByStatus", () -> blogRepository.findSummariesByStatus(BlogStatus.PUBLISHED));
+        capture(statements, "findSummariesByStatus(page)",
+                () -> blogRepository.findSummariesByStatus(BlogStatus.PUBLISHED, page));
+        capture(statements, "findSummarySlice", () -> blogRepository.findSummarySlice(BlogStatus.PUBLISHED, page));
+        capture(statements, "findSummarySliceAfter",
+                () -> blogRepository.findSummarySliceAfter(BlogStatus.PUBLISHED, now, 1L, page));
+        capture(statements, "findChangedSlice", () -> blogRepository.findChangedSlice(page));
+        capture(statements, "findChangedSliceAfter", () -> blogRepository.findChangedSliceAfter(now, 1L, page));
+        capture(statements, "findFeaturedSummaries", () -> blogRepository.findFeaturedSummaries(BlogStatus.PUBLISHED));
+        capture(statements, "findBySlugAndStatus",
+                () -> blogRepository.findBySlugAndStatus("hello", BlogStatus.PUBLISHED));
+        capture(statements, "findBySlug", () -> blogRepository.findBySlug("hello"));
+        capture(statements, "findIdBySlugAndStatus",
+                () -> blogRepository.findIdBySlugAndStatus("hello", BlogStatus.PUBLISHED));
+        capture(statements, "findRecentSummaries",
+                () -> blogRepository.findRecentSummaries(BlogStatus.PUBLISHED, now.minusMonths(3), page));
+        capture(statements, "countByStatus", () -> blogRepository.countByStatus(BlogStatus.PUBLISHED));
+        capture(statements, "aggregateByStatusAndAuthor", () -> blogRepository.aggregateByStatusAndAuthor());
+        capture(statements, "countPublishedByMonth", () -> blogRepository.countPublishedByMonth());
+        capture(statements, "findViewCounts", () -> blogRepository.findViewCounts(BlogStatus.PUBLISHED));
+        capture(statements, "findSummariesByIds", () -> blogRepository.findSummariesByIds(List.of(1L, 2L)));
+        capture(statements, "addViews",
+                () -> transaction.executeWithoutResult(status -> blogRepository.addViews(1L, 1L)));
+        capture(statements, "findSlugVariants", () -> blogRepository.findSlugVariants("hello", 1L));
+        capture(statements, "tombstones.findSlice", () -> tombstoneRepository.findSlice(page));
+        capture(statements, "tombstones.findSliceAfter", () -> tombstoneRepository.findSliceAfter(now, 1L, page));
+        capture(statements, "tombstones.findFirstByOrderByDeletedAtDescBlogIdDesc",
+                () -> tombstoneRepository.findFirstByOrderByDeletedAtDescBlogIdDesc());
+        capture(statements, "tombstones.deleteDeletedBefore",
+                () -> transaction.executeWithoutResult(status -> tombstoneRepository.deleteDeletedBefore(now)));
+        statements.put("search.SEARCH_SQL", List.of(BlogSearchRepository.SEARCH_SQL));
+        statements.put("search.SEARCH_AFTER_SQL", List.of(BlogSearchRepository.SEARCH_AFTER_SQL));
+        statements.put("search.COUNT_SQL", List.of(BlogSearchRepository.COUNT_SQL));
+
+        // 24 repository methods and the three search statements
+        assertThat(statements).hasSize(27);
+        assertThat(WHOLE_TABLE.keySet()).allSatisfy(query -> assertThat(statements).containsKey(query));
+        statements.forEach((query, sqls) -> {
+            assertThat(sqls).as("statements of %s", query).isNotEmpty();
+            for (String sql : sqls) {
+                List<String> steps = plan(sql);
+                assertThat(steps).as("plan of %s", query).isNotEmpty();
+                if (WHOLE_TABLE.containsKey(query)) {
+                    continue;
+                }
+                assertThat(steps)
+                        .as("plan of %s: %s", query, sql)
+                        .noneMatch(step -> TABLE_SCAN.matcher(step).matches());
+            }
+        });
+    }
+
+    // Record the statements the call sends to the database
+    private static void capture(Map<String, List<String>> statements, String query, Runnable call) {
+        QueryCountInspector.start();
+        try {
+            call.run();
+        } finally {
+            statements.put(query, List.copyOf(QueryCountInspector.finish().keySet()));
+        }
+    }
+
+    // Plan steps of the statement, with every parameter bound to NULL
+    private List<String> plan(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql,
+                (rs, rowNum) -> rs.getString("detail"), new Object[parameters]);
+    }
+}
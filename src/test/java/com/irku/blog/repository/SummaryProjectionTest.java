@@ -0,0 +1,95 @@
+package com.irku.blog.repository;
+
+import com.irku.blog.TestDatabase;
+import com.irku.blog.config.QueryCountInspector;
+import com.irku.blog.entity.Blog;
+import com.irku.blog.entity.BlogStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The summary queries behind the list endpoints must never read the content column, which holds
+ * the bulk of every row. Checked on the SQL Hibernate actually prepares, as seen by QueryCountInspector.
+ */
+@SpringBootTest
+class SummaryProjectionTest {
+
+    private static final Pattern CONTENT_COLUMN = Pattern.compile("\\bcontent\\b", Pattern.CASE_INSENSITIVE);
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    private Blog published;
+
+    @BeforeEach
+    void setUp() {
+        blogRepository.deleteAll();
+        published = blogRepository.save(blog("Published post", BlogStatus.PUBLISHED));
+        blogRepository.save(blog("Draft post", BlogStatus.DRAFT));
+    }
+
+    @Test
+    void summaryQueriesDoNotSelectContent() {
+        QueryCountInspector.start();
+        blogRepository.findAllSummaries();
+        blogRepository.findSummariesByStatus(BlogStatus.PUBLISHED);
+        blogRepository.findSummariesByStatus(BlogStatus.PUBLISHED, PageRequest.of(0, 10));
+        blogRepository.findSummarySlice(BlogStatus.PUBLISHED, PageRequest.of(0, 10));
+        blogRepository.findSummarySliceAfter(BlogStatus.PUBLISHED, published.getPublishedAt().plusSeconds(1),
+                published.getId(), PageRequest.of(0, 10));
+        blogRepository.findFeaturedSummaries(BlogStatus.PUBLISHED);
+        blogRepository.findRecentSummaries(BlogStatus.PUBLISHED, LocalDateTime.now().minusMonths(3),
+                PageRequest.of(0, 10));
+        blogRepository.findSummariesByIds(List.of(published.getId()));
+        Map<String, Integer> statements = QueryCountInspector.finish();
+
+        List<String> selects = statements.keySet().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .filter(sql -> sql.contains("excerpt"))
+                .toList();
+        // One per summary query; the paged variant's count query has no excerpt and is skipped
+        assertThat(selects).hasSize(8);
+        assertThat(selects).noneMatch(sql -> CONTENT_COLUMN.matcher(sql).find());
+    }
+
+    @Test
+    void fullEntityQuerySelectsContent() {
+        // Guards the check above: the pattern does find the column where it is selected
+        QueryCountInspector.start();
+        blogRepository.findBySlugAndStatus(published.getSlug(), BlogStatus.PUBLISHED);
+        Map<String, Integer> statements = QueryCountInspector.finish();
+
+        assertThat(statements.keySet()).anyMatch(sql -> CONTENT_COLUMN.matcher(sql).find());
+    }
+
+    private static Blog blog(String title, BlogStatus status) {
+        Blog blog = new Blog();
+        blog.setTitle(title);
+        blog.setContent("Body of " + title);
+        blog.setExcerpt("Excerpt of " + title);
+        blog.setAuthor("Author");
+        blog.setStatus(status);
+        blog.setSlug(blog.generateSlug(title));
+        if (status == BlogStatus.PUBLISHED) {
+            blog.setPublishedAt(LocalDateTime.now().minusDays(1));
+        }
+        return blog;
+    }
+}
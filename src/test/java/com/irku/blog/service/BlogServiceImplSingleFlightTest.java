@@ -0,0 +1,91 @@
+package com.irku.blog.service;
+
+import com.irku.blog.Concurrently;
+import com.irku.blog.dto.BlogDto;
+import com.irku.blog.entity.Blog;
+import com.irku.blog.entity.BlogStatus;
+import com.irku.blog.repository.BlogRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent cache misses for the same blog run one query in one transaction; the callers that
+ * join the load wait outside any transaction.
+ */
+@ExtendWith(MockitoExtension.class)
+class BlogServiceImplSingleFlightTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private ViewCountBuffer viewCountBuffer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BlogServiceImpl blogService;
+
+    @BeforeEach
+    void setUp() {
+        blogService = new BlogServiceImpl(blogRepository, null, viewCountBuffer, new BlogReadCache(100),
+                null, null, null, null, null, null, null, null,
+                null, null, null, transactionManager, meterRegistry);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void coldMissesByIdShareOneQuery() throws Exception {
+        when(blogRepository.findById(1L)).thenAnswer(invocation -> {
+            Concurrently.awaitFollowers(meterRegistry, "blog-by-id");
+            return Optional.of(blog());
+        });
+
+        List<Optional<BlogDto>> results = Concurrently.run(() -> blogService.getBlogById(1L));
+
+        assertThat(results).hasSize(Concurrently.CALLERS).allSatisfy(result ->
+                assertThat(result).hasValueSatisfying(dto -> assertThat(dto.getSlug()).isEqualTo("hello")));
+        verify(blogRepository, times(1)).findById(1L);
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void coldMissesBySlugShareOneQuery() throws Exception {
+        when(blogRepository.findBySlugAndStatus("hello", BlogStatus.PUBLISHED)).thenAnswer(invocation -> {
+            Concurrently.awaitFollowers(meterRegistry, "blog-by-slug");
+            return Optional.of(blog());
+        });
+
+        List<Optional<BlogDto>> results = Concurrently.run(() -> blogService.getPublishedBlogBySlug("hello"));
+
+        assertThat(results).hasSize(Concurrently.CALLERS).allSatisfy(result -> assertThat(result).isPresent());
+        verify(blogRepository, times(1)).findBySlugAndStatus("hello", BlogStatus.PUBLISHED);
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    private static Blog blog() {
+        Blog blog = new Blog("Hello", "Body", "Excerpt");
+        blog.setId(1L);
+        blog.setSlug("hello");
+        blog.setStatus(BlogStatus.PUBLISHED);
+        return blog;
+    }
+}
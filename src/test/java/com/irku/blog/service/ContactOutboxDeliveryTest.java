@@ -0,0 +1,124 @@
+package com.irku.blog.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.irku.blog.BlogApplication;
+import com.irku.blog.entity.ContactOutboxMessage;
+import com.irku.blog.entity.ContactRequest;
+import com.irku.blog.entity.OutboxStatus;
+import com.irku.blog.repository.ContactOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * End-to-end outbox delivery against a real SMTP server. A contact email queued while the
+ * server is down is retried with growing delays, survives a restart of the application and
+ * is delivered once the server is reachable.
+ */
+class ContactOutboxDeliveryTest {
+
+    private static final long INITIAL_BACKOFF_MS = 300;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void queuedEmailIsRetriedAndDeliveredAfterRestart() throws Exception {
+        int port = freePort();
+        String[] args = arguments(directory.resolve("blog.db"), port);
+
+        // No SMTP server yet: every attempt fails and pushes the next one further out
+        try (ConfigurableApplicationContext context = start(args)) {
+            context.getBean(EmailService.class).sendContactEmail(contactRequest());
+            ContactOutboxRepository outbox = context.getBean(ContactOutboxRepository.class);
+
+            LocalDateTime firstRetry = awaitAttempts(outbox, 1).getNextAttemptAt();
+            ContactOutboxMessage second = awaitAttempts(outbox, 2);
+            assertThat(second.getStatus()).isEqualTo(OutboxStatus.PENDING);
+            assertThat(second.getLastError()).isNotBlank();
+            // The second attempt ran no earlier than firstRetry and waits twice the initial delay
+            assertThat(Duration.between(firstRetry, second.getNextAttemptAt()))
+                    .isGreaterThanOrEqualTo(Duration.ofMillis(2 * INITIAL_BACKOFF_MS));
+        }
+
+        GreenMail greenMail = new GreenMail(new ServerSetup(port, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        greenMail.start();
+        try (ConfigurableApplicationContext context = start(args)) {
+            ContactOutboxRepository outbox = context.getBean(ContactOutboxRepository.class);
+
+            await().atMost(Duration.ofSeconds(30))
+                    .until(() -> outbox.countByStatus(OutboxStatus.SENT) == 1);
+            MimeMessage[] received = greenMail.getReceivedMessages();
+            assertThat(received).hasSize(1);
+            assertThat(received[0].getSubject()).isEqualTo("[Contact] Hello");
+            assertThat(outbox.countByStatus(OutboxStatus.PENDING)).isZero();
+        } finally {
+            greenMail.stop();
+        }
+    }
+
+    private static ContactOutboxMessage awaitAttempts(ContactOutboxRepository outbox, int attempts) {
+        return await().atMost(Duration.ofSeconds(30))
+                .pollInterval(Duration.ofMillis(10))
+                .until(() -> single(outbox), message -> message.getAttempts() >= attempts);
+    }
+
+    private static ContactOutboxMessage single(ContactOutboxRepository outbox) {
+        List<ContactOutboxMessage> messages = outbox.findAll();
+        assertThat(messages).hasSize(1);
+        return messages.get(0);
+    }
+
+    private static ConfigurableApplicationContext start(String[] args) {
+        return new SpringApplicationBuilder(BlogApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    // Command line arguments take precedence over application.yml
+    private static String[] arguments(Path database, int port) {
+        return new String[] {
+                "--spring.datasource.url=jdbc:sqlite:" + database,
+                "--spring.mail.host=127.0.0.1",
+                "--spring.mail.port=" + port,
+                "--spring.mail.username=",
+                "--spring.mail.password=",
+                "--spring.mail.properties.mail.smtp.auth=false",
+                "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                "--spring.mail.properties.mail.smtp.starttls.required=false",
+                "--blog.outbox.poll-interval-ms=50",
+                "--blog.outbox.initial-backoff-ms=" + INITIAL_BACKOFF_MS,
+                "--blog.outbox.max-attempts=100"
+        };
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static ContactRequest contactRequest() {
+        ContactRequest request = new ContactRequest();
+        request.setFirstName("Ada");
+        request.setLastName("Lovelace");
+        request.setEmail("ada@example.com");
+        request.setSubject("Hello");
+        request.setMessage("Queued while the mail server was down.");
+        return request;
+    }
+}
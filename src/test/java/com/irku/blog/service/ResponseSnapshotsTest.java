@@ -0,0 +1,50 @@
+package com.irku.blog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.irku.blog.Concurrently;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSnapshotsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final ResponseSnapshots snapshots =
+            new ResponseSnapshots(new ObjectMapper(), catalogVersion, meterRegistry);
+
+    @Test
+    void concurrentRebuildRunsLoaderOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        List<ResponseSnapshots.Snapshot> results = Concurrently.run(() -> snapshots.get("popular", "p1", () -> {
+            loads.incrementAndGet();
+            Concurrently.awaitFollowers(meterRegistry, "snapshot");
+            return Map.of("blogs", List.of(1, 2, 3));
+        }));
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(Concurrently.CALLERS)
+                .allSatisfy(snapshot -> assertThat(snapshot).isSameAs(results.get(0)));
+        assertThat(new String(results.get(0).json())).isEqualTo("{\"blogs\":[1,2,3]}");
+    }
+
+    @Test
+    void catalogChangeRebuildsSnapshot() {
+        AtomicInteger loads = new AtomicInteger();
+        ResponseSnapshots.Snapshot first = snapshots.get("all", () -> List.of(loads.incrementAndGet()));
+        assertThat(snapshots.get("all", () -> List.of(loads.incrementAndGet()))).isSameAs(first);
+
+        catalogVersion.bump();
+        ResponseSnapshots.Snapshot second = snapshots.get("all", () -> List.of(loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(2);
+        assertThat(second.version()).isGreaterThan(first.version());
+        assertThat(new String(second.json())).isEqualTo("[2]");
+    }
+}